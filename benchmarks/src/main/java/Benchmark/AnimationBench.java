@@ -0,0 +1,38 @@
+package Benchmark;
+
+import Assets.AssetCache;
+import Entity.Animation;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// Animation.update with a delay that never elapses and one that advances every call
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class AnimationBench {
+
+    @Param({ "0", "100000" })
+    public long delay;
+
+    private Animation animation;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BufferedImage[] frames = AssetCache.getFrames("/Sprites/Enemies/slugger.gif", 0, 0, 30, 30, 3);
+        animation = new Animation();
+        animation.setFrames(frames);
+        animation.setDelay(delay);
+    }
+
+    @Benchmark
+    public int update() {
+        animation.update();
+        return animation.getFrame();
+    }
+
+}
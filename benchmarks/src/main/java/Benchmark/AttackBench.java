@@ -0,0 +1,84 @@
+package Benchmark;
+
+import Entity.*;
+import Entity.Enemies.Slugger;
+import TileMap.TileMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Player.checkAttack against n enemies with a scratch and a volley of fireballs in flight,
+// through the spatial hash and through the original list scan
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class AttackBench {
+
+    @Param({ "16", "256", "1024" })
+    public int enemies;
+
+    @Param({ "0", "8" })
+    public int fireBalls;
+
+    @Param({ "grid", "list" })
+    public String broadphase;
+
+    private Player player;
+    private Slugger[] sluggers;
+    private ArrayList<Enemy> list;
+    private SpatialHash<Enemy> grid;
+    private boolean useGrid;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        TileMap tileMap = Fixtures.level(true);
+
+        list = new ArrayList<Enemy>(enemies);
+        grid = new SpatialHash<Enemy>(64);
+        sluggers = Fixtures.sluggers(tileMap, enemies);
+        for(int i = 0; i < sluggers.length; i++) {
+            list.add(sluggers[i]);
+            grid.insert(sluggers[i]);
+        }
+
+        player = new Player(tileMap);
+        player.setPosition(Fixtures.SPAWNS[1] - 20, 200);
+        player.setScratching(true);
+
+        // fireballs strung out ahead of the player
+        ObjectPool<FireBall> pool = player.getFireBallPool();
+        for(int i = 0; i < fireBalls; i++) {
+            FireBall fb = pool.obtain();
+            fb.reset(true);
+            fb.setPosition(Fixtures.SPAWNS[1] + i * 20, 200);
+            player.getFireBalls().add(fb);
+        }
+
+        useGrid = "grid".equals(broadphase);
+    }
+
+    // every hit kills or sets flinching, after which hit() returns early; undo that so each
+    // call measures the damage path the game actually runs
+    @Setup(Level.Invocation)
+    public void restore() {
+        for(int i = 0; i < sluggers.length; i++) {
+            sluggers[i].revive();
+        }
+        player.revive();
+        for(int i = 0; i < player.getFireBalls().size(); i++) {
+            player.getFireBalls().get(i).reset(true);
+        }
+    }
+
+    @Benchmark
+    public Player checkAttack() {
+        if(useGrid) player.checkAttack(grid);
+        else player.checkAttack(list);
+        return player;
+    }
+
+}
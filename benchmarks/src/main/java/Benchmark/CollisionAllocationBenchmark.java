@@ -0,0 +1,89 @@
+package Benchmark;
+
+import Entity.Enemies.Slugger;
+import Entity.Enemy;
+import Entity.Player;
+import Entity.SpatialHash;
+import TileMap.TileMap;
+
+import java.lang.management.ManagementFactory;
+
+// counts the bytes the collision checks allocate once warmed up; exits with 1 if the primitive path allocates
+// usage: CollisionAllocationBenchmark [iterations]
+public class CollisionAllocationBenchmark {
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static Slugger[] sluggers;
+    private static int sink;
+
+    public static void main(String[] args) {
+
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+
+        TileMap tileMap = new TileMap(30);
+        tileMap.loadTiles("/Tilesets/grasstileset.gif");
+        tileMap.loadMap("/Maps/level1-1.bmap");
+
+        sluggers = new Slugger[64];
+        SpatialHash<Enemy> grid = new SpatialHash<Enemy>(64);
+        for(int i = 0; i < sluggers.length; i++) {
+            sluggers[i] = new Slugger(tileMap);
+            sluggers[i].setPosition(100 + (i % 16) * 12, 100 + (i / 16) * 12);
+            grid.insert(sluggers[i]);
+        }
+        Player player = new Player(tileMap);
+        player.setPosition(150, 110);
+
+        // warm up so the measured loops run compiled code
+        for(int i = 0; i < 5; i++) {
+            intersects(iterations / 10);
+            rectangles(iterations / 10);
+            checkAttack(player, grid, iterations / 1000);
+        }
+
+        long intersects = measure(() -> intersects(iterations));
+        long rectangles = measure(() -> rectangles(iterations));
+        long attacks = measure(() -> checkAttack(player, grid, iterations / 100));
+
+        System.out.println("MapObject.intersects:          " + intersects + " bytes over " + iterations + " checks");
+        System.out.println("getRectangle().intersects:     " + rectangles + " bytes over " + iterations + " checks");
+        System.out.println("Player.checkAttack(grid):      " + attacks + " bytes over " + iterations / 100 + " passes");
+
+        if(intersects > 0 || attacks > 0) {
+            System.out.println("FAIL: collision checks allocated");
+            System.exit(1);
+        }
+    }
+
+    private static long measure(Runnable r) {
+        long tid = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(tid);
+        r.run();
+        return threads.getThreadAllocatedBytes(tid) - before;
+    }
+
+    private static void intersects(int n) {
+        int hits = 0;
+        for(int i = 0; i < n; i++) {
+            if(sluggers[i & 63].intersects(sluggers[(i >> 6) & 63])) hits++;
+        }
+        sink += hits;
+    }
+
+    private static void rectangles(int n) {
+        int hits = 0;
+        for(int i = 0; i < n; i++) {
+            if(sluggers[i & 63].getRectangle().intersects(sluggers[(i >> 6) & 63].getRectangle())) hits++;
+        }
+        sink += hits;
+    }
+
+    private static void checkAttack(Player player, SpatialHash<Enemy> grid, int n) {
+        for(int i = 0; i < n; i++) {
+            player.checkAttack(grid);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package Benchmark;
+
+import Entity.Enemies.Slugger;
+import TileMap.TileMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// MapObject.checkTileMapCollision for a batch of moving sluggers; positions are not
+// committed so every invocation sees the same corner lookups
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBench {
+
+    @Param({ "16", "256" })
+    public int entities;
+
+    private Slugger[] sluggers;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        TileMap tileMap = Fixtures.level(true);
+        sluggers = Fixtures.sluggers(tileMap, entities);
+    }
+
+    @Benchmark
+    public Slugger[] checkTileMapCollision() {
+        for(int i = 0; i < sluggers.length; i++) {
+            // alternate direction so both wall branches are taken
+            sluggers[i].setVector((i & 1) == 0 ? 0.3 : -0.3, 0.15);
+            sluggers[i].checkTileMapCollision();
+        }
+        return sluggers;
+    }
+
+}
@@ -0,0 +1,79 @@
+package Benchmark;
+
+import Entity.Enemies.Slugger;
+import Entity.Store.AnimationSystem;
+import Entity.Store.EntityStore;
+import Entity.Store.MovementSystem;
+import Entity.Store.SluggerBehaviour;
+import Main.GameClock;
+import TileMap.TileMap;
+
+import java.util.ArrayList;
+
+// updates the same sluggers as MapObjects and through the entity store, checks they end up in the
+// same places and compares the time per tick
+// usage: EntityStoreBenchmark [ticks] [counts...]
+public class EntityStoreBenchmark {
+
+    // Level1State's spawn points, which sit on solid ground
+    private static final int[] SPAWNS = { 200, 860, 1525, 1680, 1800 };
+
+    public static void main(String[] args) {
+
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int[] counts = { 1000, 10000, 50000 };
+        if(args.length > 1) {
+            counts = new int[args.length - 1];
+            for(int i = 1; i < args.length; i++) counts[i - 1] = Integer.parseInt(args[i]);
+        }
+
+        TileMap tileMap = new TileMap(30);
+        tileMap.loadTiles("/Tilesets/grasstileset.gif");
+        tileMap.loadMap("/Maps/level1-1.bmap");
+
+        System.out.println("entities  objects ms/tick  store ms/tick  speedup");
+        for(int n : counts) {
+
+            ArrayList<Slugger> sluggers = new ArrayList<Slugger>(n);
+            EntityStore store = new EntityStore(n);
+            int kind = store.addKind(SluggerBehaviour.kind());
+            GameClock clock = new GameClock();
+            for(int i = 0; i < n; i++) {
+                double x = SPAWNS[i % SPAWNS.length] + (i / SPAWNS.length) % 40 - 20;
+                double y = 200;
+                Slugger s = new Slugger(tileMap);
+                s.setPosition(x, y);
+                sluggers.add(s);
+                SluggerBehaviour.spawn(store, kind, x, y, clock.getTick());
+            }
+
+            // warm up with the first third, then time the rest
+            long objectNanos = 0;
+            long storeNanos = 0;
+            for(int t = 0; t < ticks; t++) {
+                long start = System.nanoTime();
+                for(int i = 0; i < sluggers.size(); i++) sluggers.get(i).update();
+                long mid = System.nanoTime();
+                clock.advance();
+                MovementSystem.run(store, tileMap, clock.getTick());
+                AnimationSystem.run(store, clock.getTick());
+                long end = System.nanoTime();
+                if(t >= ticks / 3) {
+                    objectNanos += mid - start;
+                    storeNanos += end - mid;
+                }
+            }
+
+            for(int i = 0; i < n; i++) {
+                if(sluggers.get(i).getx() != (int) store.x[i] || sluggers.get(i).gety() != (int) store.y[i]) {
+                    System.out.println("FAIL: entity " + i + " diverged");
+                    System.exit(1);
+                }
+            }
+
+            int timed = ticks - ticks / 3;
+            System.out.printf("%8d  %15.3f  %13.3f  %6.1fx%n", n, objectNanos / 1e6 / timed, storeNanos / 1e6 / timed, (double) objectNanos / storeNanos);
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package Benchmark;
+
+import Entity.Enemies.Slugger;
+import TileMap.MapFile;
+import TileMap.TileMap;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// shared setup for the benchmarks
+public class Fixtures {
+
+    public static final String TILESET = "/Tilesets/grasstileset.gif";
+    public static final String LEVEL = "/Maps/level1-1.bmap";
+
+    // ground level spawn points on level1-1, from Level1State
+    public static final int[] SPAWNS = { 200, 860, 1525, 1680, 1800 };
+
+    private Fixtures() {}
+
+    public static TileMap level(boolean chunks) {
+        System.setProperty("game.tilechunks", String.valueOf(chunks));
+        TileMap tileMap = new TileMap(30);
+        tileMap.loadTiles(TILESET);
+        tileMap.loadMap(LEVEL);
+        tileMap.setPosition(0, 0);
+        tileMap.setTween(1);
+        return tileMap;
+    }
+
+    // n sluggers spread around the spawn points
+    public static Slugger[] sluggers(TileMap tileMap, int n) {
+        Slugger[] sluggers = new Slugger[n];
+        for(int i = 0; i < n; i++) {
+            sluggers[i] = new Slugger(tileMap);
+            sluggers[i].setPosition(SPAWNS[i % SPAWNS.length] + (i / SPAWNS.length) % 60, 200);
+        }
+        return sluggers;
+    }
+
+    // long ground and ceiling runs with short platforms, like the real levels
+    public static int[][] generateMap(int numRows, int numCols) {
+        int[][] map = new int[numRows][numCols];
+        for(int row = 0; row < numRows; row++) {
+            for(int col = 0; col < numCols; col++) {
+                if(row == numRows - 1 || row == 0) map[row][col] = 22;
+                else if(row % 6 == 3 && col % 40 < 6) map[row][col] = 21;
+            }
+        }
+        return map;
+    }
+
+    public static void writeText(int[][] map, Path path) throws IOException {
+        PrintWriter out = new PrintWriter(Files.newBufferedWriter(path));
+        try {
+            out.println(map[0].length);
+            out.println(map.length);
+            for(int row = 0; row < map.length; row++) {
+                StringBuilder sb = new StringBuilder();
+                for(int col = 0; col < map[row].length; col++) {
+                    if(col > 0) sb.append(' ');
+                    sb.append(map[row][col]);
+                }
+                out.println(sb);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    public static void writeBinary(int[][] map, Path path) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(path));
+        try {
+            MapFile.writeBinary(map, out);
+        } finally {
+            out.close();
+        }
+    }
+
+}
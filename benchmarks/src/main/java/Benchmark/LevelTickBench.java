@@ -0,0 +1,54 @@
+package Benchmark;
+
+import GameState.GameStateManager;
+import Main.GamePanel;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// one full Level1State tick: update followed by a draw into an offscreen frame
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class LevelTickBench {
+
+    @Param({ "true", "false" })
+    public boolean chunks;
+
+    private GameStateManager gsm;
+    private BufferedImage image;
+    private Graphics2D g;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty("game.tilechunks", String.valueOf(chunks));
+        gsm = new GameStateManager();
+        gsm.setState(GameStateManager.LEVEL1STATE);
+        image = new BufferedImage(GamePanel.WIDTH, GamePanel.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage tick() {
+        gsm.update();
+        gsm.draw(g);
+        return image;
+    }
+
+    @Benchmark
+    public GameStateManager update() {
+        gsm.update();
+        return gsm;
+    }
+
+}
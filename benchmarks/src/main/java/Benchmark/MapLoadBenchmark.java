@@ -0,0 +1,74 @@
+package Benchmark;
+
+import TileMap.MapFile;
+import TileMap.TileStore;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// compares loading the same generated map from the text and binary formats
+// usage: MapLoadBenchmark [columns] [rows] [iterations]
+public class MapLoadBenchmark {
+
+    public static void main(String[] args) throws IOException {
+
+        int numCols = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int numRows = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        int[][] map = Fixtures.generateMap(numRows, numCols);
+
+        Path dir = Files.createTempDirectory("maps");
+        Path text = dir.resolve("bench.map");
+        Path binary = dir.resolve("bench" + MapFile.BINARY_EXTENSION);
+        Fixtures.writeText(map, text);
+        Fixtures.writeBinary(map, binary);
+
+        System.out.println(numCols + "x" + numRows + " map, text " + Files.size(text) + " bytes, binary " + Files.size(binary) + " bytes");
+
+        // warm up both paths before timing
+        for(int i = 0; i < 3; i++) {
+            loadText(text);
+            MapFile.readBinary(binary);
+        }
+
+        long textNanos = 0;
+        long binaryNanos = 0;
+        long streamNanos = 0;
+        for(int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            loadText(text);
+            textNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            MapFile.readBinary(binary);
+            binaryNanos += System.nanoTime() - start;
+
+            // open for streaming and page in the first screen only
+            start = System.nanoTime();
+            TileStore store = new TileStore(MapFile.open(binary), 512);
+            store.setFocus(0, 0, 10, 12);
+            streamNanos += System.nanoTime() - start;
+        }
+
+        System.out.printf("text:   %.2f ms per load%n", textNanos / 1e6 / iterations);
+        System.out.printf("binary: %.2f ms per load%n", binaryNanos / 1e6 / iterations);
+        System.out.printf("stream: %.2f ms to open and page in one screen%n", streamNanos / 1e6 / iterations);
+        System.out.printf("speedup %.1fx%n", (double) textNanos / binaryNanos);
+
+        Files.delete(text);
+        Files.delete(binary);
+        Files.delete(dir);
+    }
+
+    private static int[][] loadText(Path path) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        try {
+            return MapFile.readText(in);
+        } finally {
+            in.close();
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package Benchmark;
+
+import Entity.Enemies.Slugger;
+import Entity.Enemy;
+import Entity.EntityUpdater;
+import TileMap.TileMap;
+
+import java.util.ArrayList;
+
+// times the enemy update phase with 1 to N threads and checks every run ends in the same state
+// usage: ParallelUpdateBenchmark [ticks] [counts...], -Dthreads=N to go past the core count
+public class ParallelUpdateBenchmark {
+
+    // Level1State's spawn points, which sit on solid ground
+    private static final int[] SPAWNS = { 200, 860, 1525, 1680, 1800 };
+
+    public static void main(String[] args) {
+
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int[] counts = { 1000, 10000, 50000 };
+        if(args.length > 1) {
+            counts = new int[args.length - 1];
+            for(int i = 1; i < args.length; i++) counts[i - 1] = Integer.parseInt(args[i]);
+        }
+        int cores = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+
+        TileMap tileMap = new TileMap(30);
+        tileMap.loadTiles("/Tilesets/grasstileset.gif");
+        tileMap.loadMap("/Maps/level1-1.bmap");
+
+        // one untimed pass over every configuration, so the serial baseline is not the one
+        // paying for JIT warm-up
+        for(int n : counts) {
+            for(int threads = 1; threads <= cores; threads = next(threads, cores)) {
+                run(tileMap, n, threads, ticks);
+                if(threads == cores) break;
+            }
+        }
+
+        System.out.println("up to " + cores + " threads on " + Runtime.getRuntime().availableProcessors() + " cores");
+        System.out.println("enemies  threads  ms/tick  speedup");
+        for(int n : counts) {
+            double serial = 0;
+            long expected = 0;
+            for(int threads = 1; threads <= cores; threads = next(threads, cores)) {
+
+                long[] result = run(tileMap, n, threads, ticks);
+                long state = result[1];
+                if(threads == 1) expected = state;
+                else if(state != expected) {
+                    System.out.println("FAIL: " + threads + " threads diverged from the serial run");
+                    System.exit(1);
+                }
+
+                double ms = result[0] / 1e6 / (ticks - ticks / 3);
+                if(threads == 1) serial = ms;
+                System.out.printf("%7d  %7d  %7.3f  %6.2fx%n", n, threads, ms, serial / ms);
+                if(threads == cores) break;
+            }
+        }
+    }
+
+    // 1, 2, 4... then the core count
+    private static int next(int threads, int cores) {
+        return threads < cores && threads * 2 > cores ? cores : threads * 2;
+    }
+
+    // n fresh sluggers updated for the given ticks; returns the nanos spent in the last two
+    // thirds of them and a hash of where the sluggers ended up
+    private static long[] run(TileMap tileMap, int n, int threads, int ticks) {
+
+        ArrayList<Enemy> enemies = new ArrayList<Enemy>(n);
+        for(int i = 0; i < n; i++) {
+            Slugger s = new Slugger(tileMap);
+            s.setPosition(SPAWNS[i % SPAWNS.length] + (i / SPAWNS.length) % 40 - 20, 200);
+            enemies.add(s);
+        }
+
+        EntityUpdater updater = new EntityUpdater(threads, 64);
+        long nanos = 0;
+        for(int t = 0; t < ticks; t++) {
+            long start = System.nanoTime();
+            tileMap.getStore().setHoldPageOuts(true);
+            updater.update(enemies, Enemy::update);
+            tileMap.getStore().setHoldPageOuts(false);
+            if(t >= ticks / 3) nanos += System.nanoTime() - start;
+        }
+        updater.shutdown();
+
+        long state = 0;
+        for(int i = 0; i < n; i++) {
+            state = state * 31 + enemies.get(i).getx();
+            state = state * 31 + enemies.get(i).gety();
+        }
+        return new long[] { nanos, state };
+    }
+
+}
@@ -0,0 +1,64 @@
+package Benchmark;
+
+import GameState.GameStateManager;
+import Main.GamePanel;
+import Render.IntegerScaler;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// upscaling a level frame: Java2D drawImage into a scaled image against IntegerScaler on the raster
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ScaleBench {
+
+    @Param({ "2", "4", "6" })
+    public int scale;
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    private BufferedImage frame;
+    private BufferedImage java2dOut;
+    private Graphics2D java2dGraphics;
+    private IntegerScaler scaler;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameStateManager gsm = new GameStateManager();
+        gsm.setState(GameStateManager.LEVEL1STATE);
+        frame = new BufferedImage(GamePanel.WIDTH, GamePanel.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = frame.createGraphics();
+        gsm.update();
+        gsm.draw(g);
+        g.dispose();
+
+        java2dOut = new BufferedImage(GamePanel.WIDTH * scale, GamePanel.HEIGHT * scale, BufferedImage.TYPE_INT_RGB);
+        java2dGraphics = java2dOut.createGraphics();
+        scaler = new IntegerScaler(scale, threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        java2dGraphics.dispose();
+        scaler.shutdown();
+    }
+
+    @Benchmark
+    public BufferedImage java2d() {
+        java2dGraphics.drawImage(frame, 0, 0, java2dOut.getWidth(), java2dOut.getHeight(), null);
+        return java2dOut;
+    }
+
+    @Benchmark
+    public BufferedImage raster() {
+        return scaler.scale(frame);
+    }
+
+}
@@ -0,0 +1,76 @@
+package Benchmark;
+
+import Entity.Enemies.Slugger;
+import Main.GamePanel;
+import Render.SoftwareRenderer;
+import TileMap.TileMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// Java2D against SoftwareRenderer for the tile layer and a screen of sluggers, both facing ways
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SoftwareRenderBench {
+
+    @Param({ "java2d", "software" })
+    public String renderer;
+
+    private TileMap tileMap;
+    private Slugger[] sluggers;
+    private BufferedImage image;
+    private Graphics2D g;
+    private SoftwareRenderer software;
+    private int x;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tileMap = Fixtures.level(false);
+        image = new BufferedImage(GamePanel.WIDTH, GamePanel.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g = image.createGraphics();
+        if("software".equals(renderer)) software = new SoftwareRenderer(image);
+
+        // walk them for a few seconds so some have turned around
+        tileMap.setPosition(0, -60);
+        sluggers = new Slugger[24];
+        for(int i = 0; i < sluggers.length; i++) {
+            sluggers[i] = new Slugger(tileMap);
+            sluggers[i].setPosition(20 + i * 12, 200);
+        }
+        for(int t = 0; t < 180; t++) {
+            for(int i = 0; i < sluggers.length; i++) sluggers[i].update();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage tiles() {
+        x -= 3;
+        if(x < GamePanel.WIDTH - tileMap.getWidth()) x = 0;
+        tileMap.setPosition(x, -60);
+        if(software != null) tileMap.draw(software);
+        else tileMap.draw(g);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage entities() {
+        tileMap.setPosition(0, -60);
+        for(int i = 0; i < sluggers.length; i++) {
+            if(software != null) sluggers[i].draw(software);
+            else sluggers[i].draw(g);
+        }
+        return image;
+    }
+
+}
@@ -0,0 +1,50 @@
+package Benchmark;
+
+import Main.GamePanel;
+import TileMap.TileMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// TileMap.draw into an offscreen frame while scrolling across level1-1
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TileMapDrawBench {
+
+    @Param({ "true", "false" })
+    public boolean chunks;
+
+    private TileMap tileMap;
+    private BufferedImage image;
+    private Graphics2D g;
+    private int x;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tileMap = Fixtures.level(chunks);
+        image = new BufferedImage(GamePanel.WIDTH, GamePanel.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage draw() {
+        // three pixels a frame, wrapping at the end of the map
+        x -= 3;
+        if(x < GamePanel.WIDTH - tileMap.getWidth()) x = 0;
+        tileMap.setPosition(x, -60);
+        tileMap.draw(g);
+        return image;
+    }
+
+}
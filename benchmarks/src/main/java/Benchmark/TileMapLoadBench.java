@@ -0,0 +1,62 @@
+package Benchmark;
+
+import TileMap.MapFile;
+import TileMap.TileMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// TileMap.loadMap on generated maps, opening the file and paging in the first screen
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TileMapLoadBench {
+
+    @Param({ "200", "2000", "20000" })
+    public int columns;
+
+    @Param({ "64" })
+    public int rows;
+
+    @Param({ "text", "binary" })
+    public String format;
+
+    private Path dir;
+    private Path file;
+    private TileMap tileMap;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        int[][] map = Fixtures.generateMap(rows, columns);
+        dir = Files.createTempDirectory("maps");
+        if("text".equals(format)) {
+            file = dir.resolve("bench.map");
+            Fixtures.writeText(map, file);
+        } else {
+            file = dir.resolve("bench" + MapFile.BINARY_EXTENSION);
+            Fixtures.writeBinary(map, file);
+        }
+        tileMap = new TileMap(30);
+        tileMap.loadTiles(Fixtures.TILESET);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.delete(file);
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public TileMap loadMap() {
+        tileMap.loadMap(file);
+        tileMap.setPosition(0, 0);
+        return tileMap;
+    }
+
+}
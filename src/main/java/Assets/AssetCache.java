@@ -0,0 +1,185 @@
+package Assets;
+
+import Diagnostics.AssetLoadEvent;
+import Render.Sprite;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// decodes every resource once and shares the images and frame arrays,
+// converted to the screen format so drawing them stays on the fast path
+public class AssetCache {
+
+    private static final ConcurrentHashMap<String, BufferedImage> images = new ConcurrentHashMap<String, BufferedImage>();
+    private static final ConcurrentHashMap<String, BufferedImage[]> frames = new ConcurrentHashMap<String, BufferedImage[]>();
+    private static final ConcurrentHashMap<BufferedImage[], BufferedImage[]> mirrored = new ConcurrentHashMap<BufferedImage[], BufferedImage[]>();
+    private static final ConcurrentHashMap<BufferedImage, Sprite> sprites = new ConcurrentHashMap<BufferedImage, Sprite>();
+
+    // stats
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong convertedBytes = new AtomicLong();
+
+    private AssetCache() {}
+
+    public static BufferedImage getImage(String path) {
+        BufferedImage image = images.get(path);
+        if(image != null) {
+            hits.incrementAndGet();
+            return image;
+        }
+        misses.incrementAndGet();
+        return images.computeIfAbsent(path, AssetCache::load);
+    }
+
+    // a row of count frames cut from the sheet at path, starting at x, y
+    public static BufferedImage[] getFrames(String path, int x, int y, int width, int height, int count) {
+        String key = path + "@" + x + "," + y + "," + width + "x" + height + "*" + count;
+        BufferedImage[] f = frames.get(key);
+        if(f != null) {
+            hits.incrementAndGet();
+            return f;
+        }
+        misses.incrementAndGet();
+        return frames.computeIfAbsent(key, k -> slice(path, x, y, width, height, count));
+    }
+
+    // the image at path repeated side by side until it is at least minWidth wide, plus one more
+    // copy, so a single blit covers minWidth from any wrap offset
+    public static BufferedImage getStrip(String path, int minWidth) {
+        String key = path + "~" + minWidth;
+        BufferedImage strip = images.get(key);
+        if(strip != null) {
+            hits.incrementAndGet();
+            return strip;
+        }
+        misses.incrementAndGet();
+
+        // resolved first, computeIfAbsent must not touch the map from inside its own mapping
+        BufferedImage image = getImage(path);
+        if(image == null) return null;
+        return images.computeIfAbsent(key, k -> tile(image, minWidth));
+    }
+
+    // left facing copies of a frame set, keyed by the array so every animation sharing it shares these;
+    // built when an entity that turns around loads its sprites
+    public static BufferedImage[] getMirrored(BufferedImage[] f) {
+        if(f == null) return null;
+        BufferedImage[] m = mirrored.get(f);
+        if(m != null) return m;
+        return mirrored.computeIfAbsent(f, AssetCache::mirror);
+    }
+
+    // pixel data of a cached image for the software renderer, keyed by the image itself
+    public static Sprite getSprite(BufferedImage image) {
+        Sprite sprite = sprites.get(image);
+        if(sprite != null) return sprite;
+        return sprites.computeIfAbsent(image, Sprite::new);
+    }
+
+    public static void preload(String... paths) {
+        if(paths == null) return;
+        for(int i = 0; i < paths.length; i++) {
+            getImage(paths[i]);
+        }
+    }
+
+    private static BufferedImage load(String path) {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        try {
+            InputStream in = AssetCache.class.getResourceAsStream(path);
+            if(in == null) throw new IllegalArgumentException("Missing resource " + path);
+            try {
+                BufferedImage image = track(ImageConverter.convert(ImageIO.read(in)));
+                event.bytes = ImageConverter.getByteSize(image);
+                return image;
+            } finally {
+                in.close();
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            event.path = path;
+            event.kind = "image";
+            event.commit();
+        }
+    }
+
+    private static BufferedImage[] slice(String path, int x, int y, int width, int height, int count) {
+        BufferedImage sheet = getImage(path);
+        if(sheet == null) return null;
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        BufferedImage[] f = new BufferedImage[count];
+        for(int i = 0; i < count; i++) {
+            f[i] = track(ImageConverter.convert(sheet, x + i * width, y, width, height));
+            event.bytes += ImageConverter.getByteSize(f[i]);
+        }
+        event.path = path;
+        event.kind = "frames";
+        event.commit();
+        return f;
+    }
+
+    // the same negative width blit entities used to do every frame, done once
+    private static BufferedImage[] mirror(BufferedImage[] f) {
+        BufferedImage[] m = new BufferedImage[f.length];
+        for(int i = 0; i < f.length; i++) {
+            int w = f[i].getWidth();
+            int h = f[i].getHeight();
+            m[i] = ImageConverter.createCompatible(w, h, f[i].getTransparency());
+            Graphics2D g = m[i].createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(f[i], w, 0, -w, h, null);
+            g.dispose();
+            track(m[i]);
+        }
+        return m;
+    }
+
+    private static BufferedImage tile(BufferedImage image, int minWidth) {
+        int copies = (minWidth + image.getWidth() - 1) / image.getWidth() + 1;
+        BufferedImage strip = ImageConverter.createCompatible(image.getWidth() * copies, image.getHeight(), image.getTransparency());
+        Graphics2D g = strip.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        for(int i = 0; i < copies; i++) {
+            g.drawImage(image, i * image.getWidth(), 0, null);
+        }
+        g.dispose();
+        return track(strip);
+    }
+
+    private static BufferedImage track(BufferedImage image) {
+        convertedBytes.addAndGet(ImageConverter.getByteSize(image));
+        return image;
+    }
+
+    public static long getHits() { return hits.get(); }
+    public static long getMisses() { return misses.get(); }
+    public static int getImageCount() { return images.size(); }
+    public static int getFrameSetCount() { return frames.size(); }
+    public static long getConvertedBytes() { return convertedBytes.get(); }
+
+    public static String report() {
+        long h = hits.get();
+        long m = misses.get();
+        return "assets: " + images.size() + " images, " + frames.size() + " frame sets, "
+                + h + " hits, " + m + " misses (" + (h + m == 0 ? 0 : h * 100 / (h + m)) + "% hit rate), "
+                + convertedBytes.get() / 1024 + " KB of images";
+    }
+
+    public static void clear() {
+        images.clear();
+        frames.clear();
+        mirrored.clear();
+        sprites.clear();
+        convertedBytes.set(0);
+    }
+
+}
@@ -0,0 +1,70 @@
+package Assets;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+
+// copies decoded images into standalone images in the screen's pixel format
+public class ImageConverter {
+
+    private static GraphicsConfiguration config;
+    private static boolean configLoaded;
+
+    private ImageConverter() {}
+
+    private static synchronized GraphicsConfiguration getConfig() {
+        if(!configLoaded) {
+            configLoaded = true;
+            if(!GraphicsEnvironment.isHeadless()) {
+                config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+            }
+        }
+        return config;
+    }
+
+    public static BufferedImage convert(BufferedImage src) {
+        return convert(src, 0, 0, src.getWidth(), src.getHeight());
+    }
+
+    public static BufferedImage convert(BufferedImage src, int x, int y, int width, int height) {
+
+        BufferedImage dst = createCompatible(width, height, getTransparency(src, x, y, width, height));
+
+        Graphics2D g = dst.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(src, 0, 0, width, height, x, y, x + width, y + height, null);
+        g.dispose();
+
+        return dst;
+    }
+
+    public static BufferedImage createCompatible(int width, int height, int transparency) {
+        GraphicsConfiguration gc = getConfig();
+        if(gc != null) {
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        if(transparency == Transparency.OPAQUE) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    // the cheapest transparency mode that keeps every pixel of the region intact
+    private static int getTransparency(BufferedImage src, int x, int y, int width, int height) {
+        if(src.getColorModel().getTransparency() == Transparency.OPAQUE) return Transparency.OPAQUE;
+        int[] pixels = src.getRGB(x, y, width, height, null, 0, width);
+        int transparency = Transparency.OPAQUE;
+        for(int i = 0; i < pixels.length; i++) {
+            int a = pixels[i] >>> 24;
+            if(a == 0) transparency = Transparency.BITMASK;
+            else if(a != 255) return Transparency.TRANSLUCENT;
+        }
+        return transparency;
+    }
+
+    public static long getByteSize(BufferedImage image) {
+        DataBuffer db = image.getRaster().getDataBuffer();
+        return (long) db.getSize() * db.getNumBanks() * DataBuffer.getDataTypeSize(db.getDataType()) / 8;
+    }
+
+}
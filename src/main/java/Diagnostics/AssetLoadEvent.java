@@ -0,0 +1,21 @@
+package Diagnostics;
+
+import jdk.jfr.*;
+
+// decoding an image, slicing sprite frames or opening a map
+@Name("dragontale.AssetLoad")
+@Label("Asset Load")
+@Category({ "Dragon Tale", "Assets" })
+public class AssetLoadEvent extends Event {
+
+    @Label("Path")
+    public String path;
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+}
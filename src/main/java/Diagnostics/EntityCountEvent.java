@@ -0,0 +1,26 @@
+package Diagnostics;
+
+import jdk.jfr.*;
+
+// a tick that spawned or despawned entities, with the live counts after it
+@Name("dragontale.EntityCount")
+@Label("Entity Count")
+@Category({ "Dragon Tale", "Entities" })
+public class EntityCountEvent extends Event {
+
+    @Label("Spawned")
+    public int spawned;
+
+    @Label("Despawned")
+    public int despawned;
+
+    @Label("Enemies")
+    public int enemies;
+
+    @Label("Explosions")
+    public int explosions;
+
+    @Label("Fireballs")
+    public int fireBalls;
+
+}
@@ -0,0 +1,200 @@
+package Diagnostics;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// per-phase frame timings, kept in ring buffers for the overlay and histograms for the dump;
+// begin, end and endFrame only touch preallocated arrays and are meant for the game thread
+public class FrameProfiler {
+
+    // phases
+    public static final int INPUT = 0;
+    public static final int UPDATE_PLAYER = 1;
+    public static final int UPDATE_ENEMIES = 2;
+    public static final int UPDATE_EFFECTS = 3;
+    public static final int DRAW_BACKGROUND = 4;
+    public static final int DRAW_TILEMAP = 5;
+    public static final int DRAW_ENTITIES = 6;
+    public static final int DRAW_HUD = 7;
+    public static final int PRESENT = 8;
+    public static final int FRAME = 9;
+    public static final int PHASES = 10;
+
+    public static final String[] NAMES = {
+        "input", "update.player", "update.enemies", "update.effects",
+        "draw.background", "draw.tilemap", "draw.entities", "draw.hud",
+        "present", "frame"
+    };
+
+    // frames kept for the overlay
+    public static final int CAPACITY = 1024;
+
+    private static final long[] started = new long[PHASES];
+    private static final long[] current = new long[PHASES];
+    private static final long[][] ring = new long[PHASES][CAPACITY];
+    private static final LatencyHistogram[] histograms = new LatencyHistogram[PHASES];
+    private static long frames;
+    private static long frameStart;
+
+    // finer timings kept by their owners, e.g. background layers; reported after the phases
+    private static final ConcurrentSkipListMap<String, LatencyHistogram> extras = new ConcurrentSkipListMap<String, LatencyHistogram>();
+
+    // overlay, refreshed every few frames
+    private static final int OVERLAY_REFRESH = 30;
+    private static final long[] scratch = new long[CAPACITY];
+    private static String[] overlayLines = new String[0];
+    private static final Font overlayFont = new Font("Monospaced", Font.PLAIN, 8);
+    private static final Color overlayBackground = new Color(0, 0, 0, 160);
+    private static volatile boolean overlay;
+    private static long overlayFrame = -OVERLAY_REFRESH;
+
+    static {
+        for(int i = 0; i < PHASES; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    private FrameProfiler() {}
+
+    public static void beginFrame() {
+        frameStart = System.nanoTime();
+    }
+
+    public static void begin(int phase) {
+        started[phase] = System.nanoTime();
+    }
+
+    // phases may run several times a frame, e.g. when the loop catches up on ticks
+    public static void end(int phase) {
+        current[phase] += System.nanoTime() - started[phase];
+    }
+
+    public static void endFrame() {
+        current[FRAME] = System.nanoTime() - frameStart;
+        int slot = (int) (frames % CAPACITY);
+        for(int i = 0; i < PHASES; i++) {
+            ring[i][slot] = current[i];
+            histograms[i].record(current[i]);
+            current[i] = 0;
+        }
+        frames++;
+    }
+
+    // replaces any histogram already registered under the name
+    public static void register(String name, LatencyHistogram histogram) {
+        extras.put(name, histogram);
+    }
+
+    public static long getFrames() { return frames; }
+    public static LatencyHistogram getHistogram(int phase) { return histograms[phase]; }
+
+    public static void toggleOverlay() { overlay = !overlay; }
+    public static boolean isOverlayVisible() { return overlay; }
+
+    // percentile over the frames still in the ring buffer
+    public static long recentPercentile(int phase, double p) {
+        int n = (int) Math.min(frames, CAPACITY);
+        if(n == 0) return 0;
+        System.arraycopy(ring[phase], 0, scratch, 0, n);
+        Arrays.sort(scratch, 0, n);
+        int i = (int) Math.ceil(p * n) - 1;
+        return scratch[Math.max(0, Math.min(n - 1, i))];
+    }
+
+    public static void drawOverlay(Graphics2D g) {
+        if(!overlay) return;
+
+        if(frames - overlayFrame >= OVERLAY_REFRESH) {
+            overlayFrame = frames;
+            String[] lines = new String[PHASES + 1 + extras.size()];
+            lines[0] = String.format("%-16s %7s %7s %7s", "us, last " + Math.min(frames, CAPACITY), "p50", "p99", "max");
+            for(int i = 0; i < PHASES; i++) {
+                lines[i + 1] = String.format("%-16s %7.1f %7.1f %7.1f", NAMES[i],
+                        recentPercentile(i, 0.5) / 1e3, recentPercentile(i, 0.99) / 1e3, recentPercentile(i, 1) / 1e3);
+            }
+            // registered histograms cover every sample since they were created
+            int n = PHASES + 1;
+            for(Map.Entry<String, LatencyHistogram> e : extras.entrySet()) {
+                if(n == lines.length) break;
+                LatencyHistogram h = e.getValue();
+                lines[n++] = String.format("%-16s %7.1f %7.1f %7.1f", e.getKey(),
+                        h.percentile(0.5) / 1e3, h.percentile(0.99) / 1e3, h.getMax() / 1e3);
+            }
+            overlayLines = Arrays.copyOf(lines, n);
+        }
+
+        g.setColor(overlayBackground);
+        g.fillRect(2, 2, 212, overlayLines.length * 9 + 4);
+        g.setFont(overlayFont);
+        g.setColor(Color.WHITE);
+        for(int i = 0; i < overlayLines.length; i++) {
+            g.drawString(overlayLines[i], 4, 11 + i * 9);
+        }
+    }
+
+    // summary per phase followed by the raw histogram buckets, all in microseconds
+    public static void dump(String path) {
+        try {
+            PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(path)));
+            try {
+                out.println("phase,frames,mean_us,p50_us,p90_us,p99_us,p999_us,max_us");
+                for(int i = 0; i < PHASES; i++) {
+                    summarize(out, NAMES[i], histograms[i]);
+                }
+                for(Map.Entry<String, LatencyHistogram> e : extras.entrySet()) {
+                    summarize(out, e.getKey(), e.getValue());
+                }
+                out.println();
+                out.println("phase,from_us,to_us,count");
+                for(int i = 0; i < PHASES; i++) {
+                    buckets(out, NAMES[i], histograms[i]);
+                }
+                for(Map.Entry<String, LatencyHistogram> e : extras.entrySet()) {
+                    buckets(out, e.getKey(), e.getValue());
+                }
+            } finally {
+                out.close();
+            }
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void summarize(PrintWriter out, String name, LatencyHistogram h) {
+        out.printf("%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n", name, h.getCount(), h.getMean() / 1e3,
+                h.percentile(0.5) / 1e3, h.percentile(0.9) / 1e3, h.percentile(0.99) / 1e3,
+                h.percentile(0.999) / 1e3, h.getMax() / 1e3);
+    }
+
+    private static void buckets(PrintWriter out, String name, LatencyHistogram h) {
+        for(int b = 0; b < LatencyHistogram.BUCKETS; b++) {
+            if(h.getCount(b) == 0) continue;
+            out.printf("%s,%.3f,%.3f,%d%n", name, LatencyHistogram.lowerBound(b) / 1e3,
+                    LatencyHistogram.upperBound(b) / 1e3, h.getCount(b));
+        }
+    }
+
+    // writes the dump when the vm exits if game.profile.out names a file
+    public static void dumpOnExit() {
+        final String path = System.getProperty("game.profile.out");
+        if(path == null) return;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> dump(path)));
+    }
+
+    public static void reset() {
+        for(int i = 0; i < PHASES; i++) {
+            Arrays.fill(ring[i], 0);
+            histograms[i].reset();
+            current[i] = 0;
+        }
+        frames = 0;
+        overlayFrame = -OVERLAY_REFRESH;
+    }
+
+}
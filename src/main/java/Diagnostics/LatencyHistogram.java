@@ -0,0 +1,77 @@
+package Diagnostics;
+
+import java.util.Arrays;
+
+// log-linear histogram of nanosecond durations, 32 buckets per power of two above 64ns
+// (about 3% resolution); fixed size so recording never allocates
+public class LatencyHistogram {
+
+    private static final int LINEAR = 64;
+    private static final int SUB_BITS = 5;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    public static final int BUCKETS = LINEAR + (MAX_EXPONENT - 5) * SUB;
+
+    private final long[] counts;
+    private long count;
+    private long total;
+    private long max;
+
+    public LatencyHistogram() {
+        counts = new long[BUCKETS];
+    }
+
+    public void record(long nanos) {
+        if(nanos < 0) nanos = 0;
+        counts[index(nanos)]++;
+        count++;
+        total += nanos;
+        if(nanos > max) max = nanos;
+    }
+
+    static int index(long v) {
+        if(v < LINEAR) return (int) v;
+        int e = 63 - Long.numberOfLeadingZeros(v);
+        if(e > MAX_EXPONENT) return BUCKETS - 1;
+        return LINEAR + (e - 6) * SUB + (int) ((v >>> (e - SUB_BITS)) & (SUB - 1));
+    }
+
+    public static long lowerBound(int index) {
+        if(index < LINEAR) return index;
+        int e = (index - LINEAR) / SUB + 6;
+        int sub = (index - LINEAR) % SUB;
+        return (long) (SUB + sub) << (e - SUB_BITS);
+    }
+
+    public static long upperBound(int index) {
+        if(index < LINEAR) return index;
+        int e = (index - LINEAR) / SUB + 6;
+        return lowerBound(index) + (1L << (e - SUB_BITS)) - 1;
+    }
+
+    // upper bound of the bucket holding the given fraction of samples
+    public long percentile(double p) {
+        if(count == 0) return 0;
+        long target = (long) Math.ceil(p * count);
+        if(target < 1) target = 1;
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if(seen >= target) return Math.min(upperBound(i), max);
+        }
+        return max;
+    }
+
+    public long getCount(int index) { return counts[index]; }
+    public long getCount() { return count; }
+    public long getMax() { return max; }
+    public double getMean() { return count == 0 ? 0 : (double) total / count; }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+}
@@ -0,0 +1,20 @@
+package Diagnostics;
+
+import jdk.jfr.*;
+
+// a frame wait that woke up late; spans the whole wait
+@Name("dragontale.Oversleep")
+@Label("Oversleep")
+@Category({ "Dragon Tale", "Loop" })
+@Description("Frame pacing overshot its deadline by more than half a millisecond")
+public class OversleepEvent extends Event {
+
+    @Label("Requested")
+    @Timespan(Timespan.NANOSECONDS)
+    public long requested;
+
+    @Label("Overshoot")
+    @Timespan(Timespan.NANOSECONDS)
+    public long overshoot;
+
+}
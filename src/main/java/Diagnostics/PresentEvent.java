@@ -0,0 +1,14 @@
+package Diagnostics;
+
+import jdk.jfr.*;
+
+// copying the offscreen image to the screen
+@Name("dragontale.Present")
+@Label("Present")
+@Category({ "Dragon Tale", "Loop" })
+public class PresentEvent extends Event {
+
+    @Label("Frame")
+    public long frame;
+
+}
@@ -0,0 +1,17 @@
+package Diagnostics;
+
+import jdk.jfr.*;
+
+// drawing a frame into the offscreen image
+@Name("dragontale.Render")
+@Label("Render")
+@Category({ "Dragon Tale", "Loop" })
+public class RenderEvent extends Event {
+
+    @Label("Frame")
+    public long frame;
+
+    @Label("Interpolation")
+    public double interpolation;
+
+}
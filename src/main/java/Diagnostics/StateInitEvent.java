@@ -0,0 +1,14 @@
+package Diagnostics;
+
+import jdk.jfr.*;
+
+// GameState.init
+@Name("dragontale.StateInit")
+@Label("State Init")
+@Category({ "Dragon Tale", "State" })
+public class StateInitEvent extends Event {
+
+    @Label("State")
+    public String state;
+
+}
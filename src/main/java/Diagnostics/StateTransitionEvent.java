@@ -0,0 +1,17 @@
+package Diagnostics;
+
+import jdk.jfr.*;
+
+// GameStateManager.setState, including asset preload and init
+@Name("dragontale.StateTransition")
+@Label("State Transition")
+@Category({ "Dragon Tale", "State" })
+public class StateTransitionEvent extends Event {
+
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+
+}
@@ -0,0 +1,18 @@
+package Diagnostics;
+
+import jdk.jfr.*;
+
+// one simulation step
+@Name("dragontale.Tick")
+@Label("Tick")
+@Category({ "Dragon Tale", "Loop" })
+public class TickEvent extends Event {
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Catch-up Step")
+    @Description("Index of this tick within the frame, above zero when the loop is catching up")
+    public int step;
+
+}
@@ -1,14 +1,18 @@
 package Entity;
 
+import Assets.AssetCache;
+import Main.GameClock;
+
 import java.awt.image.BufferedImage;
-import java.nio.Buffer;
 
 public class Animation {
 
     private BufferedImage[] frames;
+    private BufferedImage[] mirrored;
     private int currentFrame;
 
-    private long startTime;
+    // ticks the current frame has been shown
+    private long ticks;
     private long delay;
 
     private boolean playedOnce;
@@ -19,8 +23,9 @@ public class Animation {
 
     public void setFrames (BufferedImage[] frames) {
         this.frames = frames;
+        mirrored = null;
         currentFrame = 0;
-        startTime = System.nanoTime();
+        ticks = 0;
         playedOnce = false;
     }
 
@@ -31,10 +36,10 @@ public class Animation {
 
         if(delay == -1) return;
 
-        long elapsed = (System.nanoTime() - startTime) / 1000000;
-        if(elapsed > delay) {
+        ticks++;
+        if(GameClock.millis(ticks) > delay) {
             currentFrame++;
-            startTime = System.nanoTime();
+            ticks = 0;
         }
         if(currentFrame == frames.length) {
             currentFrame = 0;
@@ -44,6 +49,14 @@ public class Animation {
 
     public int getFrame() { return currentFrame; }
     public BufferedImage getImage() { return frames[currentFrame]; }
+
+    // left facing frames are mirrored when the sprites load; a set that was missed is mirrored
+    // here the first time, once for the whole game
+    public BufferedImage getImage(boolean facingRight) {
+        if(facingRight) return frames[currentFrame];
+        if(mirrored == null) mirrored = AssetCache.getMirrored(frames);
+        return mirrored[currentFrame];
+    }
     public boolean hasPlayedOnce() { return playedOnce; }
 
 }
@@ -0,0 +1,107 @@
+package Entity;
+
+import java.util.ArrayList;
+
+// finds the objects whose collision boxes touch a query shape, without testing every object
+public abstract class Broadphase<T extends MapObject> {
+
+    // stats
+    protected long queries;
+    protected long candidates;
+    protected long hits;
+
+    public abstract void insert(T o);
+    public abstract void remove(T o);
+
+    // call after o has moved; objects in a broadphase are updated as they move unless it is deferred
+    public abstract void update(T o);
+
+    // called by MapObject whenever its box changes
+    abstract void moved(MapObject o);
+
+    // claims o for this broadphase, one broadphase per object
+    protected void own(MapObject o) {
+        if(o.spatialOwner != null) throw new IllegalStateException("Object is already in a broadphase");
+        o.spatialOwner = this;
+    }
+
+    public abstract void clear();
+
+    // objects whose boxes overlap the box, in out
+    public void queryAABB(double minX, double minY, double maxX, double maxY, ArrayList<T> out) {
+        query(AABB, minX, minY, maxX, maxY, 0, out);
+    }
+
+    // objects whose boxes are within radius of x, y
+    public void queryRange(double x, double y, double radius, ArrayList<T> out) {
+        query(RANGE, x - radius, y - radius, x + radius, y + radius, radius, out);
+    }
+
+    // objects whose boxes the segment from x0, y0 to x1, y1 passes through
+    public void queryRay(double x0, double y0, double x1, double y1, ArrayList<T> out) {
+        query(RAY, x0, y0, x1, y1, 0, out);
+    }
+
+    protected static final int AABB = 0;
+    protected static final int RANGE = 1;
+    protected static final int RAY = 2;
+
+    protected abstract void query(int shape, double a, double b, double c, double d, double radius, ArrayList<T> out);
+
+    // exact test of one candidate against the query shape
+    protected boolean matches(MapObject o, int shape, double a, double b, double c, double d, double radius) {
+        candidates++;
+        int minX = o.minX;
+        int minY = o.minY;
+        int maxX = o.maxX;
+        int maxY = o.maxY;
+        boolean hit;
+        if(shape == AABB) {
+            hit = minX < c && a < maxX && minY < d && b < maxY;
+        } else if(shape == RANGE) {
+            double cx = (a + c) / 2;
+            double cy = (b + d) / 2;
+            double dx = Math.max(minX - cx, Math.max(0, cx - maxX));
+            double dy = Math.max(minY - cy, Math.max(0, cy - maxY));
+            hit = dx * dx + dy * dy <= radius * radius;
+        } else {
+            hit = segmentHits(a, b, c, d, minX, minY, maxX, maxY);
+        }
+        if(hit) hits++;
+        return hit;
+    }
+
+    // slab test of the segment against the box
+    private static boolean segmentHits(double x0, double y0, double x1, double y1, int minX, int minY, int maxX, int maxY) {
+        double t0 = 0;
+        double t1 = 1;
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        if(dx == 0) {
+            if(x0 < minX || x0 > maxX) return false;
+        } else {
+            double ta = (minX - x0) / dx;
+            double tb = (maxX - x0) / dx;
+            t0 = Math.max(t0, Math.min(ta, tb));
+            t1 = Math.min(t1, Math.max(ta, tb));
+        }
+        if(dy == 0) {
+            if(y0 < minY || y0 > maxY) return false;
+        } else {
+            double ta = (minY - y0) / dy;
+            double tb = (maxY - y0) / dy;
+            t0 = Math.max(t0, Math.min(ta, tb));
+            t1 = Math.min(t1, Math.max(ta, tb));
+        }
+        return t0 <= t1;
+    }
+
+    public long getQueries() { return queries; }
+    public long getCandidates() { return candidates; }
+    public long getHits() { return hits; }
+
+    public void resetCounters() {
+        queries = candidates = hits = 0;
+    }
+
+}
@@ -0,0 +1,42 @@
+package Entity;
+
+import java.util.ArrayList;
+
+// tests every object, the reference the other broadphases are measured against
+public class BruteForceBroadphase<T extends MapObject> extends Broadphase<T> {
+
+    private ArrayList<T> objects;
+
+    public BruteForceBroadphase() {
+        objects = new ArrayList<T>();
+    }
+
+    public void insert(T o) {
+        own(o);
+        objects.add(o);
+    }
+
+    public void remove(T o) {
+        if(o.spatialOwner != this) return;
+        o.spatialOwner = null;
+        objects.remove(o);
+    }
+
+    public void update(T o) {}
+    void moved(MapObject o) {}
+
+    public void clear() {
+        for(int i = 0; i < objects.size(); i++) objects.get(i).spatialOwner = null;
+        objects.clear();
+    }
+
+    protected void query(int shape, double a, double b, double c, double d, double radius, ArrayList<T> out) {
+        queries++;
+        out.clear();
+        for(int i = 0; i < objects.size(); i++) {
+            T o = objects.get(i);
+            if(matches(o, shape, a, b, c, d, radius)) out.add(o);
+        }
+    }
+
+}
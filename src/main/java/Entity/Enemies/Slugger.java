@@ -1,10 +1,11 @@
 package Entity.Enemies;
 
+import Assets.AssetCache;
+import Render.SoftwareRenderer;
 import Entity.Animation;
 import Entity.Enemy;
 import TileMap.TileMap;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 
@@ -30,18 +31,8 @@ public class Slugger extends Enemy {
         damage = 1;
 
         // load sprites
-        try {
-
-            BufferedImage spritesheet = ImageIO.read(getClass().getResourceAsStream("/Sprites/Enemies/slugger.gif"));
-
-            sprites = new BufferedImage[3];
-            for(int i = 0; i < sprites.length; i++) {
-                sprites[i] = spritesheet.getSubimage(i * width, 0, width, height);
-            }
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        sprites = AssetCache.getFrames("/Sprites/Enemies/slugger.gif", 0, 0, width, height, 3);
+        AssetCache.getMirrored(sprites);
 
         animation = new Animation();
         animation.setFrames(sprites);
@@ -78,15 +69,10 @@ public class Slugger extends Enemy {
         // update position
         getNextPosition();
         checkTileMapCollision();
-        setPosition(xtemp, ytemp);
+        updatePosition();
 
         // check flinching
-        if(flinching) {
-            long elapsed = (System.nanoTime() - flinchTimer) / 1000000;
-            if(elapsed > 400) {
-                flinching = false;
-            }
-        }
+        updateFlinch(400);
 
         // if it hits a wall, go other direction
         if(right && dx == 0) {
@@ -118,4 +104,14 @@ public class Slugger extends Enemy {
 
     }
 
+    public void draw(SoftwareRenderer r) {
+
+        if(notOnScreen()) return;
+
+        setMapPosition();
+
+        super.draw(r);
+
+    }
+
 }
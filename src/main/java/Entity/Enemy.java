@@ -1,5 +1,6 @@
 package Entity;
 
+import Main.GameClock;
 import TileMap.TileMap;
 
 public class Enemy extends MapObject{
@@ -10,7 +11,10 @@ public class Enemy extends MapObject{
     protected int damage;
 
     protected boolean flinching;
-    protected long flinchTimer;
+    protected long flinchTicks;
+
+    // the player's checkAttack call that last struck this with a fireball
+    int struckStamp;
 
     public Enemy(TileMap tm) {
         super(tm);
@@ -26,7 +30,24 @@ public class Enemy extends MapObject{
         if(health < 0) health = 0;
         if(health == 0) dead = true;
         flinching = true;
-        flinchTimer = System.nanoTime();
+        flinchTicks = 0;
+    }
+
+    // back to full health and able to be hit again
+    public void revive() {
+        health = maxHealth;
+        dead = false;
+        flinching = false;
+        flinchTicks = 0;
+    }
+
+    // call once per tick; clears flinching after the given time
+    protected void updateFlinch(long millis) {
+        if(!flinching) return;
+        flinchTicks++;
+        if(GameClock.millis(flinchTicks) > millis) {
+            flinching = false;
+        }
     }
 
     public void update() {}
@@ -0,0 +1,75 @@
+package Entity;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+// runs an update over a list of entities, either in order on the calling thread or split into batches
+// across a ForkJoin pool; entities must only write their own state, so both modes give the same results
+public class EntityUpdater {
+
+    private ForkJoinPool pool;
+    private int grain;
+
+    // threads < 2 updates serially
+    public EntityUpdater(int threads, int grain) {
+        if(threads > 1) pool = new ForkJoinPool(threads);
+        this.grain = Math.max(grain, 1);
+    }
+
+    // -Dgame.update=parallel with -Dgame.threads=N, serial otherwise
+    public static EntityUpdater fromProperties() {
+        if(!"parallel".equals(System.getProperty("game.update"))) {
+            return new EntityUpdater(1, 64);
+        }
+        int threads = Integer.getInteger("game.threads", Runtime.getRuntime().availableProcessors());
+        return new EntityUpdater(threads, 64);
+    }
+
+    public boolean isParallel() { return pool != null; }
+    public int getThreads() { return pool == null ? 1 : pool.getParallelism(); }
+
+    public <T> void update(List<T> entities, Consumer<? super T> action) {
+        int n = entities.size();
+        if(pool == null || n <= grain) {
+            for(int i = 0; i < n; i++) {
+                action.accept(entities.get(i));
+            }
+            return;
+        }
+        pool.invoke(new Batch<T>(entities, action, 0, n));
+    }
+
+    public void shutdown() {
+        if(pool != null) pool.shutdown();
+    }
+
+    private class Batch<T> extends RecursiveAction {
+
+        private List<T> entities;
+        private Consumer<? super T> action;
+        private int from;
+        private int to;
+
+        Batch(List<T> entities, Consumer<? super T> action, int from, int to) {
+            this.entities = entities;
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if(to - from <= grain) {
+                for(int i = from; i < to; i++) {
+                    action.accept(entities.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Batch<T>(entities, action, from, mid), new Batch<T>(entities, action, mid, to));
+        }
+
+    }
+
+}
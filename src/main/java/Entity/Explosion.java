@@ -1,9 +1,10 @@
 package Entity;
 
-import javax.imageio.ImageIO;
+import Assets.AssetCache;
+import Render.SoftwareRenderer;
+
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.nio.Buffer;
 
 public class Explosion {
 
@@ -21,27 +22,25 @@ public class Explosion {
     private boolean remove;
 
     public Explosion(int x, int y) {
+        this();
+        reset(x, y);
+    }
 
-        this.x= x;
-        this.y = y;
+    public Explosion() {
 
         width = 30;
         height = 30;
 
-        try {
-
-            BufferedImage spritesheet = ImageIO.read(getClass().getResourceAsStream("/Sprites/Enemies/explosion.gif"));
-
-            sprites = new BufferedImage[6];
-            for(int i = 0; i < sprites.length; i++) {
-                sprites[i] = spritesheet.getSubimage(i * width, 0, width, height);
-            }
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        sprites = AssetCache.getFrames("/Sprites/Enemies/explosion.gif", 0, 0, width, height, 6);
 
         animation = new Animation();
+    }
+
+    // prepares a pooled explosion to play again at x, y
+    public void reset(int x, int y) {
+        this.x = x;
+        this.y = y;
+        remove = false;
         animation.setFrames(sprites);
         animation.setDelay(70);
     }
@@ -63,4 +62,8 @@ public class Explosion {
     public void draw(Graphics2D g) {
         g.drawImage(animation.getImage(), x + xmap - width / 2, y + ymap - height / 2, null);
     }
+
+    public void draw(SoftwareRenderer r) {
+        r.draw(AssetCache.getSprite(animation.getImage()), x + xmap - width / 2, y + ymap - height / 2);
+    }
 }
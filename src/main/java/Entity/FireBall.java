@@ -1,8 +1,9 @@
 package Entity;
 
+import Assets.AssetCache;
+import Render.SoftwareRenderer;
 import TileMap.TileMap;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 
@@ -14,14 +15,15 @@ public class FireBall extends MapObject{
     private BufferedImage[] hitSprites;
 
     public FireBall(TileMap tm, boolean right) {
+        this(tm);
+        reset(right);
+    }
 
-        super(tm);
+    public FireBall(TileMap tm) {
 
-        facingRight = right;
+        super(tm);
 
         moveSpeed = 3.8;
-        if(right) dx = moveSpeed;
-        else dx = -moveSpeed;
 
         width = 30;
         height = 30;
@@ -29,27 +31,25 @@ public class FireBall extends MapObject{
         cheight = 15;
 
         // load sprites
-        try {
-
-            BufferedImage spritesheet = ImageIO.read(getClass().getResourceAsStream("/Sprites/Player/fireball.gif"));
-
-            sprites = new BufferedImage[4];
-            for(int i = 0; i < sprites.length; i++) {
-                sprites[i] = spritesheet.getSubimage(i * width, 0, width, height);
-            }
+        sprites = AssetCache.getFrames("/Sprites/Player/fireball.gif", 0, 0, width, height, 4);
+        hitSprites = AssetCache.getFrames("/Sprites/Player/fireball.gif", 0, height, width, height, 3);
+        AssetCache.getMirrored(sprites);
+        AssetCache.getMirrored(hitSprites);
 
-            hitSprites = new BufferedImage[3];
-            for(int i = 0; i < hitSprites.length; i++) {
-                hitSprites[i] = spritesheet.getSubimage(i * width, height, width, height);
-            }
-
-            animation = new Animation();
-            animation.setFrames(sprites);
-            animation.setDelay(70);
+        animation = new Animation();
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    // prepares a pooled fireball for another shot
+    public void reset(boolean right) {
+        facingRight = right;
+        if(right) dx = moveSpeed;
+        else dx = -moveSpeed;
+        dy = 0;
+        falling = false;
+        hit = false;
+        remove = false;
+        animation.setFrames(sprites);
+        animation.setDelay(70);
     }
 
     public void setHit() {
@@ -65,7 +65,7 @@ public class FireBall extends MapObject{
     public void update() {
 
         checkTileMapCollision();
-        setPosition(xtemp, ytemp);
+        updatePosition();
 
         if(dx == 0 && !hit) {
             setHit();
@@ -86,5 +86,13 @@ public class FireBall extends MapObject{
 
     }
 
+    public void draw(SoftwareRenderer r) {
+
+        setMapPosition();
+
+        super.draw(r);
+
+    }
+
 }
 
@@ -1,6 +1,9 @@
 package Entity;
 
-import javax.imageio.ImageIO;
+import Assets.AssetCache;
+import Assets.ImageConverter;
+import Render.BitmapFont;
+
 import java.awt.*;
 import java.awt.image.BufferedImage;
 
@@ -9,29 +12,53 @@ public class HUD {
     private Player player;
 
     private BufferedImage image;
-    private Font font;
+    private BitmapFont font;
+
+    // the hud with its numbers, only redrawn when one of them changes
+    private BufferedImage layer;
+    private StringBuilder text;
+    private int health = -1;
+    private int maxHealth = -1;
+    private int fire = -1;
+    private int maxFire = -1;
 
     public HUD(Player p) {
         player = p;
-        try {
-
-            image = ImageIO.read(getClass().getResourceAsStream("/HUD/hud.gif"));
-            font = new Font("Arial", Font.PLAIN, 14);
+        image = AssetCache.getImage("/HUD/hud.gif");
+        font = new BitmapFont(new Font("Arial", Font.PLAIN, 14), Color.WHITE);
+        layer = ImageConverter.createCompatible(Math.max(image.getWidth(), 100), Math.max(image.getHeight(), 40), Transparency.TRANSLUCENT);
+        text = new StringBuilder();
+    }
 
+    public void draw(Graphics2D g) {
 
-        } catch (Exception e) {
-            e.printStackTrace();
+        if(player.getHealth() != health || player.getMaxHealth() != maxHealth ||
+                player.getFire() / 100 != fire || player.getMaxFire() / 100 != maxFire) {
+            health = player.getHealth();
+            maxHealth = player.getMaxHealth();
+            fire = player.getFire() / 100;
+            maxFire = player.getMaxFire() / 100;
+            redraw();
         }
-    }
 
-    public void draw(Graphics2D g) {
+        g.drawImage(layer, 0, 10, null);
 
-        g.drawImage(image, 0, 10, null);
-        g.setFont(font);
-        g.setColor(Color.WHITE);
-        g.drawString(player.getHealth() + "/" + player.getMaxHealth(), 35, 25);
-        g.drawString(player.getFire() / 100 + "/" + player.getMaxFire() / 100, 30,45);
+    }
 
+    // same positions as on screen, less the 10 pixel offset the layer is drawn at
+    private void redraw() {
+        Graphics2D lg = layer.createGraphics();
+        lg.setComposite(AlphaComposite.Clear);
+        lg.fillRect(0, 0, layer.getWidth(), layer.getHeight());
+        lg.setComposite(AlphaComposite.SrcOver);
+        lg.drawImage(image, 0, 0, null);
+        text.setLength(0);
+        text.append(health).append('/').append(maxHealth);
+        font.drawString(lg, text, 35, 15);
+        text.setLength(0);
+        text.append(fire).append('/').append(maxFire);
+        font.drawString(lg, text, 30, 35);
+        lg.dispose();
     }
 
 }
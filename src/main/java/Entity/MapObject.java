@@ -1,6 +1,8 @@
 package Entity;
 
+import Assets.AssetCache;
 import Main.GamePanel;
+import Render.SoftwareRenderer;
 import TileMap.TileMap;
 import TileMap.Tile;
 
@@ -20,6 +22,10 @@ public abstract class MapObject {
     protected double dx;
     protected double dy;
 
+    // position at the previous tick, for render interpolation
+    protected double xprev;
+    protected double yprev;
+
     // dimensions
     protected int width;
     protected int height;
@@ -28,6 +34,12 @@ public abstract class MapObject {
     protected int cwidth;
     protected int cheight;
 
+    // collision bounds, kept in step with the position
+    protected int minX;
+    protected int minY;
+    protected int maxX;
+    protected int maxY;
+
     // collision
     protected int currRow;
     protected int currCol;
@@ -40,6 +52,15 @@ public abstract class MapObject {
     protected boolean bottomLeft;
     protected boolean bottomRight;
 
+    // broadphase bookkeeping; an object is in at most one broadphase at a time, which owns these
+    Broadphase<?> spatialOwner;
+    int spatialBucket = -1;
+    int spatialSlot;
+    int spatialCellX;
+    int spatialCellY;
+    int spatialStamp;
+    boolean spatialMoved;
+
     // animation
     protected Animation animation;
     protected int currentAction;
@@ -70,11 +91,25 @@ public abstract class MapObject {
     }
 
     public boolean intersects(MapObject o) {
-        Rectangle r1 = getRectangle();
-        Rectangle r2 = o.getRectangle();
-        return r1.intersects(r2);
+        return minX < o.maxX && o.minX < maxX && minY < o.maxY && o.minY < maxY;
+    }
+
+    public boolean intersects(int minX, int minY, int maxX, int maxY) {
+        return this.minX < maxX && minX < this.maxX && this.minY < maxY && minY < this.maxY;
+    }
+
+    // how far the boxes overlap along each axis, 0 when they are apart
+    public int overlapX(MapObject o) {
+        int d = Math.min(maxX - o.minX, o.maxX - minX);
+        return d > 0 ? d : 0;
+    }
+
+    public int overlapY(MapObject o) {
+        int d = Math.min(maxY - o.minY, o.maxY - minY);
+        return d > 0 ? d : 0;
     }
 
+    // allocates, only for debug drawing
     public Rectangle getRectangle() {
         return new Rectangle((int) x - cwidth, (int) y - cheight, cwidth, cheight);
     }
@@ -163,10 +198,32 @@ public abstract class MapObject {
     public int getHeight() { return height;}
     public int getCWidth() { return cwidth;}
     public int getCHeight() { return cheight;}
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
 
     public void setPosition(double x, double y) {
-        this.x = x;
-        this.y = y;
+        this.x = xprev = x;
+        this.y = yprev = y;
+        updateBounds();
+    }
+
+    // moves to the result of checkTileMapCollision, keeping the old position to interpolate from
+    public void updatePosition() {
+        xprev = x;
+        yprev = y;
+        x = xtemp;
+        y = ytemp;
+        updateBounds();
+    }
+
+    private void updateBounds() {
+        maxX = (int) x;
+        maxY = (int) y;
+        minX = maxX - cwidth;
+        minY = maxY - cheight;
+        if(spatialOwner != null) spatialOwner.moved(this);
     }
 
     public void setVector(double dx, double dy) {
@@ -175,8 +232,8 @@ public abstract class MapObject {
     }
 
     public void setMapPosition() {
-        xmap = tileMap.getx();
-        ymap = tileMap.gety();
+        xmap = tileMap.getRenderX();
+        ymap = tileMap.getRenderY();
     }
 
     public void setLeft(boolean b) { left = b;}
@@ -190,11 +247,23 @@ public abstract class MapObject {
     }
 
     public void draw(Graphics2D g) {
-        if(facingRight) {
-            g.drawImage(animation.getImage(), (int) (x + xmap - width / 2), (int) (y + ymap - height / 2), null);
-        } else {
-            g.drawImage(animation.getImage(), (int) (x + xmap - width / 2 + width), (int) (y + ymap - height / 2), -width, height, null);
-        }
+        double alpha = tileMap.getInterpolation();
+        double x = xprev + (this.x - xprev) * alpha;
+        double y = yprev + (this.y - yprev) * alpha;
+        g.drawImage(animation.getImage(facingRight), drawX(x), (int) (y + ymap - height / 2), null);
+    }
+
+    public void draw(SoftwareRenderer r) {
+        double alpha = tileMap.getInterpolation();
+        double x = xprev + (this.x - xprev) * alpha;
+        double y = yprev + (this.y - yprev) * alpha;
+        r.draw(AssetCache.getSprite(animation.getImage(facingRight)), drawX(x), (int) (y + ymap - height / 2));
+    }
+
+    // left facing frames keep the rounding of their right edge from when they were flipped on the fly
+    private int drawX(double x) {
+        if(facingRight) return (int) (x + xmap - width / 2);
+        return (int) (x + xmap - width / 2 + width) - width;
     }
 
 }
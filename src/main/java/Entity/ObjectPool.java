@@ -0,0 +1,88 @@
+package Entity;
+
+import java.util.function.Supplier;
+
+// fixed-capacity pool of reusable objects, filled up front so steady play allocates nothing
+public class ObjectPool<T> {
+
+    // what obtain() does once every pooled object is in use
+    public enum Overflow {
+        GROW,   // allocate a new object and keep it in the pool afterwards
+        DROP,   // return null, the caller skips the spawn
+        FAIL    // throw IllegalStateException
+    }
+
+    private Supplier<T> factory;
+    private Overflow overflow;
+    private int capacity;
+
+    private Object[] free;
+    private int freeCount;
+
+    // usage
+    private int inUse;
+    private int peakInUse;
+    private long created;
+    private long obtained;
+    private long released;
+    private long overflowed;
+
+    public ObjectPool(Supplier<T> factory, int capacity, Overflow overflow) {
+        this.factory = factory;
+        this.capacity = capacity;
+        this.overflow = overflow;
+        free = new Object[capacity];
+        for(int i = 0; i < capacity; i++) {
+            free[freeCount++] = factory.get();
+            created++;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T obtain() {
+        T t;
+        if(freeCount > 0) {
+            t = (T) free[--freeCount];
+            free[freeCount] = null;
+        } else {
+            overflowed++;
+            if(overflow == Overflow.DROP) return null;
+            if(overflow == Overflow.FAIL) {
+                throw new IllegalStateException("Pool exhausted at " + inUse + " objects");
+            }
+            t = factory.get();
+            created++;
+        }
+        obtained++;
+        inUse++;
+        if(inUse > peakInUse) peakInUse = inUse;
+        return t;
+    }
+
+    public void release(T t) {
+        if(freeCount == free.length) {
+            Object[] grown = new Object[free.length * 2];
+            System.arraycopy(free, 0, grown, 0, freeCount);
+            free = grown;
+        }
+        free[freeCount++] = t;
+        released++;
+        inUse--;
+    }
+
+    public int getCapacity() { return capacity; }
+    public Overflow getOverflow() { return overflow; }
+    public int getFree() { return freeCount; }
+    public int getInUse() { return inUse; }
+    public int getPeakInUse() { return peakInUse; }
+    public long getCreated() { return created; }
+    public long getObtained() { return obtained; }
+    public long getReleased() { return released; }
+    public long getOverflowed() { return overflowed; }
+
+    public String report() {
+        return inUse + " in use (peak " + peakInUse + "), " + freeCount + " free, " + created + " created, "
+                + obtained + " obtained, " + overflowed + " overflowed";
+    }
+
+}
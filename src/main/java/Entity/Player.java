@@ -1,8 +1,10 @@
 package Entity;
 
+import Assets.AssetCache;
+import Main.GameClock;
+import Render.SoftwareRenderer;
 import TileMap.*;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.lang.reflect.Array;
@@ -17,13 +19,16 @@ public class Player extends MapObject{
     private int maxFire;
     private boolean dead;
     private boolean flinching;
-    private long flinchTimer;
+    private long flinchTicks;
 
     // fireball
     private boolean firing;
     private int fireCost;
     private int fireBallDamage;
     private ArrayList<FireBall> fireBalls;
+    private ArrayList<Enemy> nearby;
+    private int attackStamp;
+    private ObjectPool<FireBall> fireBallPool;
 
     // scratch
     private boolean scratching;
@@ -70,30 +75,19 @@ public class Player extends MapObject{
 
         fireCost = 200;
         fireBallDamage = 5;
-        fireBalls = new ArrayList<FireBall>();
+        fireBalls = new ArrayList<FireBall>(16);
+        nearby = new ArrayList<Enemy>();
+        fireBallPool = new ObjectPool<FireBall>(() -> new FireBall(tileMap), 16, ObjectPool.Overflow.GROW);
 
         scratchDamage = 8;
         scratchRange = 40;
 
         // load sprites
-        try {
-
-            BufferedImage spritesheet = ImageIO.read(getClass().getResourceAsStream("/Sprites/Player/playersprites.gif"));
-
-            sprites = new ArrayList<BufferedImage[]>();
-            for(int i = 0; i < 7; i++) {
-                BufferedImage[] bi = new BufferedImage[numFrames[i]];
-                for(int j = 0; j < numFrames[i]; j++) {
-                    if(i != SCRATCHING) {
-                        bi[j] = spritesheet.getSubimage(j * width, i * height, width, height);
-                    } else {
-                        bi[j] = spritesheet.getSubimage(j * width * 2, i * height, width * 2, height);
-                    }
-                }
-                sprites.add(bi);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+        sprites = new ArrayList<BufferedImage[]>();
+        for(int i = 0; i < 7; i++) {
+            int w = i != SCRATCHING ? width : width * 2;
+            sprites.add(AssetCache.getFrames("/Sprites/Player/playersprites.gif", 0, i * height, w, height, numFrames[i]));
+            AssetCache.getMirrored(sprites.get(i));
         }
 
         animation = new Animation();
@@ -106,6 +100,8 @@ public class Player extends MapObject{
     public int getMaxHealth() { return maxHealth; }
     public int getFire() { return fire; }
     public int getMaxFire() { return maxFire; }
+    public ObjectPool<FireBall> getFireBallPool() { return fireBallPool; }
+    public ArrayList<FireBall> getFireBalls() { return fireBalls; }
 
     public void setFiring(boolean b) {
         firing = true;
@@ -156,14 +152,69 @@ public class Player extends MapObject{
 
     }
 
+    // same rules as above, but only tests the enemies the broadphase puts near each attack
+    public void checkAttack(Broadphase<Enemy> enemies) {
+
+        // scratch attack
+        if(scratching) {
+            double x0 = facingRight ? x : x - scratchRange;
+            enemies.queryAABB(x0, y - height / 2, x0 + scratchRange, y + height / 2, nearby);
+            for(int i = 0; i < nearby.size(); i++) {
+                Enemy e = nearby.get(i);
+                if (facingRight) {
+                    if (e.getx() > x && e.getx() < x + scratchRange && e.gety() > y - height / 2 && e.gety() < y + height / 2) {
+                        e.hit(scratchDamage);
+                    }
+                } else {
+                    if (e.getx() < x && e.getx() > x - scratchRange && e.gety() > y - height / 2 && e.gety() < y + height / 2) {
+                        e.hit(scratchDamage);
+                    }
+                }
+            }
+        }
+
+        // fireballs, each enemy is struck by the first fireball touching it
+        attackStamp++;
+        for(int j = 0; j < fireBalls.size(); j++) {
+            FireBall fb = fireBalls.get(j);
+            enemies.queryAABB(fb.minX, fb.minY, fb.maxX, fb.maxY, nearby);
+            for(int i = 0; i < nearby.size(); i++) {
+                Enemy e = nearby.get(i);
+                if(e.struckStamp == attackStamp) continue;
+                if(fb.intersects(e)) {
+                    e.struckStamp = attackStamp;
+                    e.hit(fireBallDamage);
+                    fb.setHit();
+                }
+            }
+        }
+
+        // check enemy collision
+        enemies.queryAABB(minX, minY, maxX, maxY, nearby);
+        for(int i = 0; i < nearby.size(); i++) {
+            Enemy e = nearby.get(i);
+            if(intersects(e)) {
+                hit(e.getDamage());
+            }
+        }
+
+    }
+
     public void hit(int damage) {
         if(flinching) return;
         health -= damage;
         if(health < 0) health = 0;
         if(health == 0) dead = true;
         flinching = true;
-        flinchTimer = System.nanoTime();
+        flinchTicks = 0;
+
+    }
 
+    public void revive() {
+        health = maxHealth;
+        dead = false;
+        flinching = false;
+        flinchTicks = 0;
     }
 
     private void getNextPosition() {
@@ -224,7 +275,7 @@ public class Player extends MapObject{
         // update position
         getNextPosition();
         checkTileMapCollision();
-        setPosition(xtemp, ytemp);
+        updatePosition();
 
         // check attack has stopped
         if(currentAction == SCRATCHING) {
@@ -240,25 +291,32 @@ public class Player extends MapObject{
         if(firing && currentAction != FIREBALL) {
             if(fire > fireCost) {
                 fire -= fireCost;
-                FireBall fb = new FireBall(tileMap, facingRight);
-                fb.setPosition(x, y);
-                fireBalls.add(fb);
+                FireBall fb = fireBallPool.obtain();
+                if(fb != null) {
+                    fb.reset(facingRight);
+                    fb.setPosition(x, y);
+                    fireBalls.add(fb);
+                }
             }
         }
 
         // update fireballs
         for(int i = 0; i < fireBalls.size(); i++){
-            fireBalls.get(i).update();
-            if(fireBalls.get(i).shouldRemove()) {
-                fireBalls.remove(i);
+            FireBall fb = fireBalls.get(i);
+            fb.update();
+            if(fb.shouldRemove()) {
+                int last = fireBalls.size() - 1;
+                fireBalls.set(i, fireBalls.get(last));
+                fireBalls.remove(last);
+                fireBallPool.release(fb);
                 i--;
             }
         }
 
         // check done flinching
         if(flinching) {
-            long elapsed = (System.nanoTime() - flinchTimer) / 1000000;
-            if(elapsed > 1000) {
+            flinchTicks++;
+            if(GameClock.millis(flinchTicks) > 1000) {
                 flinching = false;
             }
         }
@@ -336,7 +394,7 @@ public class Player extends MapObject{
 
         // draw player
         if(flinching) {
-            long elapsed = (System.nanoTime() - flinchTimer) / 1000000;
+            long elapsed = GameClock.millis(flinchTicks);
             if(elapsed / 100 % 2 == 0) {
                 return;
             }
@@ -346,4 +404,23 @@ public class Player extends MapObject{
 
     }
 
+    public void draw(SoftwareRenderer r) {
+
+        setMapPosition();
+
+        for(int i = 0; i < fireBalls.size(); i++) {
+            fireBalls.get(i).draw(r);
+        }
+
+        if(flinching) {
+            long elapsed = GameClock.millis(flinchTicks);
+            if(elapsed / 100 % 2 == 0) {
+                return;
+            }
+        }
+
+        super.draw(r);
+
+    }
+
 }
@@ -0,0 +1,165 @@
+package Entity;
+
+import java.util.ArrayList;
+
+// uniform grid hashed into a fixed bucket table; each object sits in the cell of its box centre
+public class SpatialHash<T extends MapObject> extends Broadphase<T> {
+
+    private int cellSize;
+    private int mask;
+
+    private MapObject[][] buckets;
+    private int[] counts;
+
+    // largest half extent of any inserted box, how far queries reach into neighbouring cells
+    private int reach;
+
+    // marks objects already seen by the current query; kept on the objects, which is safe because
+    // each belongs to one broadphase and is given the current stamp when it joins this one
+    private int stamp;
+
+    // while deferred, moves are only flagged, so objects can move on several threads at once
+    private boolean deferred;
+    private ArrayList<MapObject> moved = new ArrayList<MapObject>();
+
+    public SpatialHash(int cellSize, int numBuckets) {
+        this.cellSize = cellSize;
+        int n = Integer.highestOneBit(Math.max(numBuckets, 1));
+        if(n < numBuckets) n <<= 1;
+        mask = n - 1;
+        buckets = new MapObject[n][];
+        counts = new int[n];
+    }
+
+    public SpatialHash(int cellSize) {
+        this(cellSize, 1024);
+    }
+
+    private int cellX(MapObject o) { return Math.floorDiv((o.minX + o.maxX) >> 1, cellSize); }
+    private int cellY(MapObject o) { return Math.floorDiv((o.minY + o.maxY) >> 1, cellSize); }
+
+    private int bucket(int cx, int cy) {
+        return (cx * 73856093 ^ cy * 19349663) & mask;
+    }
+
+    public void insert(T o) {
+        own(o);
+        o.spatialStamp = stamp;
+        o.spatialMoved = false;
+        int r = Math.max(o.cwidth, o.cheight) / 2 + 1;
+        if(r > reach) reach = r;
+        o.spatialCellX = cellX(o);
+        o.spatialCellY = cellY(o);
+        add(o, bucket(o.spatialCellX, o.spatialCellY));
+    }
+
+    public void remove(T o) {
+        if(o.spatialOwner != this) return;
+        o.spatialOwner = null;
+        o.spatialMoved = false;
+        unlink(o);
+    }
+
+    public void update(T o) {
+        if(o.spatialOwner != this) return;
+        relocate(o);
+    }
+
+    void moved(MapObject o) {
+        if(deferred) o.spatialMoved = true;
+        else relocate(o);
+    }
+
+    // defer while entities update in parallel, then undefer on one thread to move the flagged ones
+    public void setDeferred(boolean b) {
+        if(deferred && !b) {
+            moved.clear();
+            for(int k = 0; k < buckets.length; k++) {
+                for(int i = 0; i < counts[k]; i++) {
+                    if(buckets[k][i].spatialMoved) moved.add(buckets[k][i]);
+                }
+            }
+            for(int i = 0; i < moved.size(); i++) {
+                moved.get(i).spatialMoved = false;
+                relocate(moved.get(i));
+            }
+            moved.clear();
+        }
+        deferred = b;
+    }
+
+    public boolean isDeferred() { return deferred; }
+
+    private void relocate(MapObject o) {
+        int cx = cellX(o);
+        int cy = cellY(o);
+        if(cx == o.spatialCellX && cy == o.spatialCellY) return;
+        o.spatialCellX = cx;
+        o.spatialCellY = cy;
+        int b = bucket(cx, cy);
+        if(b == o.spatialBucket) return;
+        unlink(o);
+        add(o, b);
+    }
+
+    private void unlink(MapObject o) {
+        int b = o.spatialBucket;
+        int last = --counts[b];
+        MapObject tail = buckets[b][last];
+        buckets[b][o.spatialSlot] = tail;
+        tail.spatialSlot = o.spatialSlot;
+        buckets[b][last] = null;
+        o.spatialBucket = -1;
+    }
+
+    private void add(MapObject o, int b) {
+        MapObject[] bucket = buckets[b];
+        if(bucket == null) {
+            bucket = buckets[b] = new MapObject[4];
+        } else if(counts[b] == bucket.length) {
+            bucket = buckets[b] = java.util.Arrays.copyOf(bucket, bucket.length * 2);
+        }
+        o.spatialBucket = b;
+        o.spatialSlot = counts[b];
+        bucket[counts[b]++] = o;
+    }
+
+    public void clear() {
+        for(int b = 0; b < buckets.length; b++) {
+            for(int i = 0; i < counts[b]; i++) {
+                buckets[b][i].spatialBucket = -1;
+                buckets[b][i].spatialOwner = null;
+                buckets[b][i].spatialMoved = false;
+            }
+            if(buckets[b] != null) java.util.Arrays.fill(buckets[b], null);
+            counts[b] = 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void query(int shape, double a, double b, double c, double d, double radius, ArrayList<T> out) {
+
+        queries++;
+        out.clear();
+        stamp++;
+
+        int cx0 = (int) Math.floor((Math.min(a, c) - reach) / cellSize);
+        int cx1 = (int) Math.floor((Math.max(a, c) + reach) / cellSize);
+        int cy0 = (int) Math.floor((Math.min(b, d) - reach) / cellSize);
+        int cy1 = (int) Math.floor((Math.max(b, d) + reach) / cellSize);
+
+        for(int cy = cy0; cy <= cy1; cy++) {
+            for(int cx = cx0; cx <= cx1; cx++) {
+                int k = bucket(cx, cy);
+                MapObject[] bucket = buckets[k];
+                for(int i = 0; i < counts[k]; i++) {
+                    MapObject o = bucket[i];
+                    if(o.spatialStamp == stamp) continue;
+                    o.spatialStamp = stamp;
+                    if(matches(o, shape, a, b, c, d, radius)) out.add((T) o);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package Entity.Store;
+
+import Main.GameClock;
+
+// advances every entity's animation, the same rules as Animation.update; now is the clock tick
+public class AnimationSystem {
+
+    private AnimationSystem() {}
+
+    public static void run(EntityStore s, long now) {
+        run(s, now, 0, s.size());
+    }
+
+    public static void run(EntityStore s, long now, int from, int to) {
+        for(int i = from; i < to; i++) {
+            EntityKind k = s.kindOf(i);
+            if(k.delay == -1) continue;
+            if(GameClock.millis(now - s.frameTimer[i]) > k.delay) {
+                s.frame[i]++;
+                s.frameTimer[i] = now;
+            }
+            if(s.frame[i] == k.frames.length) {
+                s.frame[i] = 0;
+                s.flags[i] |= EntityStore.PLAYED_ONCE;
+            }
+        }
+    }
+
+}
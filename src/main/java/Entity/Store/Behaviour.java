@@ -0,0 +1,12 @@
+package Entity.Store;
+
+// per-kind logic run by MovementSystem around the shared tile collision step
+public interface Behaviour {
+
+    // sets the velocity for this tick, before collision
+    void steer(EntityStore s, int i);
+
+    // reacts to the collision result, after the position is committed; now is the clock tick
+    void react(EntityStore s, int i, long now);
+
+}
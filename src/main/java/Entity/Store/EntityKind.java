@@ -0,0 +1,30 @@
+package Entity.Store;
+
+import java.awt.image.BufferedImage;
+
+// the shared template every entity of one kind is spawned from
+public class EntityKind {
+
+    // dimensions
+    public int width;
+    public int height;
+    public int cwidth;
+    public int cheight;
+
+    // movement attributes
+    public double moveSpeed;
+    public double maxSpeed;
+    public double fallSpeed;
+    public double maxFallSpeed;
+
+    public int health;
+    public int damage;
+
+    // animation
+    public BufferedImage[] frames;
+    public BufferedImage[] mirrored;
+    public long delay;
+
+    public Behaviour behaviour;
+
+}
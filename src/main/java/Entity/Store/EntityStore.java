@@ -0,0 +1,140 @@
+package Entity.Store;
+
+import java.util.Arrays;
+
+// entity state in parallel primitive arrays, one slot per live entity, packed at the front
+public class EntityStore {
+
+    // flags
+    public static final int LEFT = 1;
+    public static final int RIGHT = 2;
+    public static final int FALLING = 4;
+    public static final int JUMPING = 8;
+    public static final int FACING_RIGHT = 16;
+    public static final int FLINCHING = 32;
+    public static final int DEAD = 64;
+    public static final int PLAYED_ONCE = 128;
+
+    private int count;
+
+    // position and vector
+    public double[] x;
+    public double[] y;
+    public double[] dx;
+    public double[] dy;
+
+    // collision results, before they are committed
+    public double[] xtemp;
+    public double[] ytemp;
+
+    // state
+    public int[] kind;
+    public int[] flags;
+    public int[] health;
+    public long[] flinchTimer;
+
+    // animation; timers hold the clock tick they started on
+    public int[] frame;
+    public long[] frameTimer;
+
+    private EntityKind[] kinds;
+    private int numKinds;
+
+    public EntityStore(int capacity) {
+        kinds = new EntityKind[4];
+        allocate(Math.max(capacity, 16));
+    }
+
+    private void allocate(int capacity) {
+        x = resize(x, capacity);
+        y = resize(y, capacity);
+        dx = resize(dx, capacity);
+        dy = resize(dy, capacity);
+        xtemp = resize(xtemp, capacity);
+        ytemp = resize(ytemp, capacity);
+        kind = resize(kind, capacity);
+        flags = resize(flags, capacity);
+        health = resize(health, capacity);
+        flinchTimer = resize(flinchTimer, capacity);
+        frame = resize(frame, capacity);
+        frameTimer = resize(frameTimer, capacity);
+    }
+
+    private static double[] resize(double[] a, int n) { return a == null ? new double[n] : Arrays.copyOf(a, n); }
+    private static int[] resize(int[] a, int n) { return a == null ? new int[n] : Arrays.copyOf(a, n); }
+    private static long[] resize(long[] a, int n) { return a == null ? new long[n] : Arrays.copyOf(a, n); }
+
+    public int addKind(EntityKind k) {
+        if(numKinds == kinds.length) kinds = Arrays.copyOf(kinds, numKinds * 2);
+        kinds[numKinds] = k;
+        return numKinds++;
+    }
+
+    public EntityKind getKind(int id) { return kinds[id]; }
+    public EntityKind kindOf(int i) { return kinds[kind[i]]; }
+    public int size() { return count; }
+
+    public int spawn(int kindId, double x, double y, long now) {
+        if(count == this.x.length) allocate(count * 2);
+        EntityKind k = kinds[kindId];
+        int i = count++;
+        this.x[i] = xtemp[i] = x;
+        this.y[i] = ytemp[i] = y;
+        dx[i] = 0;
+        dy[i] = 0;
+        kind[i] = kindId;
+        flags[i] = 0;
+        health[i] = k.health;
+        flinchTimer[i] = 0;
+        frame[i] = 0;
+        frameTimer[i] = now;
+        return i;
+    }
+
+    // moves the last entity into slot i
+    public void remove(int i) {
+        int last = --count;
+        if(i == last) return;
+        x[i] = x[last];
+        y[i] = y[last];
+        dx[i] = dx[last];
+        dy[i] = dy[last];
+        xtemp[i] = xtemp[last];
+        ytemp[i] = ytemp[last];
+        kind[i] = kind[last];
+        flags[i] = flags[last];
+        health[i] = health[last];
+        flinchTimer[i] = flinchTimer[last];
+        frame[i] = frame[last];
+        frameTimer[i] = frameTimer[last];
+    }
+
+    public int removeDead() {
+        int removed = 0;
+        for(int i = count - 1; i >= 0; i--) {
+            if((flags[i] & DEAD) != 0) {
+                remove(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // same rules as Enemy.hit
+    public void hit(int i, int damage, long now) {
+        if((flags[i] & (DEAD | FLINCHING)) != 0) return;
+        health[i] -= damage;
+        if(health[i] < 0) health[i] = 0;
+        if(health[i] == 0) flags[i] |= DEAD;
+        flags[i] |= FLINCHING;
+        flinchTimer[i] = now;
+    }
+
+    public boolean has(int i, int flag) { return (flags[i] & flag) != 0; }
+
+    public void set(int i, int flag, boolean b) {
+        if(b) flags[i] |= flag;
+        else flags[i] &= ~flag;
+    }
+
+}
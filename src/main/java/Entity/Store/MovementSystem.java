@@ -0,0 +1,124 @@
+package Entity.Store;
+
+import TileMap.Tile;
+import TileMap.TileMap;
+
+// steers, collides and moves every entity, the same steps MapObject.checkTileMapCollision takes
+public class MovementSystem {
+
+    private MovementSystem() {}
+
+    public static void run(EntityStore s, TileMap tm, long now) {
+        run(s, tm, now, 0, s.size());
+    }
+
+    public static void run(EntityStore s, TileMap tm, long now, int from, int to) {
+
+        for(int i = from; i < to; i++) {
+            s.kindOf(i).behaviour.steer(s, i);
+        }
+
+        int tileSize = tm.getTileSize();
+        for(int i = from; i < to; i++) {
+            collide(s, i, tm, tileSize);
+        }
+
+        for(int i = from; i < to; i++) {
+            s.x[i] = s.xtemp[i];
+            s.y[i] = s.ytemp[i];
+        }
+
+        for(int i = from; i < to; i++) {
+            s.kindOf(i).behaviour.react(s, i, now);
+        }
+    }
+
+    private static void collide(EntityStore s, int i, TileMap tm, int tileSize) {
+
+        EntityKind k = s.kindOf(i);
+        int cwidth = k.cwidth;
+        int cheight = k.cheight;
+        double x = s.x[i];
+        double y = s.y[i];
+        double dx = s.dx[i];
+        double dy = s.dy[i];
+
+        int currCol = (int) x / tileSize;
+        int currRow = (int) y / tileSize;
+
+        double xdest = x + dx;
+        double ydest = y + dy;
+
+        double xtemp = x;
+        double ytemp = y;
+
+        int corners = corners(tm, tileSize, cwidth, x, ydest);
+        if(dy < 0) {
+            if((corners & (TOP_LEFT | TOP_RIGHT)) != 0) {
+                dy = 0;
+                ytemp = currRow * tileSize + cheight / 2;
+            } else {
+                ytemp += dy;
+            }
+        }
+        if(dy > 0) {
+            if((corners & (BOTTOM_LEFT | BOTTOM_RIGHT)) != 0) {
+                dy = 0;
+                s.set(i, EntityStore.FALLING, false);
+                ytemp = (currRow + 1) * tileSize - cheight / 2;
+            } else {
+                ytemp += dy;
+            }
+        }
+
+        corners = corners(tm, tileSize, cwidth, xdest, y);
+        if(dx < 0) {
+            if((corners & (TOP_LEFT | BOTTOM_LEFT)) != 0) {
+                dx = 0;
+                xtemp = currCol * tileSize + cwidth / 2;
+            } else {
+                xtemp += dx;
+            }
+        }
+        if(dx > 0) {
+            if((corners & (TOP_RIGHT | BOTTOM_RIGHT)) != 0) {
+                dx = 0;
+                xtemp = (currCol + 1) * tileSize - cwidth / 2;
+            } else {
+                xtemp += dx;
+            }
+        }
+
+        if(!s.has(i, EntityStore.FALLING)) {
+            corners = corners(tm, tileSize, cwidth, x, ydest + 1);
+            if((corners & (BOTTOM_LEFT | BOTTOM_RIGHT)) == 0) {
+                s.set(i, EntityStore.FALLING, true);
+            }
+        }
+
+        s.dx[i] = dx;
+        s.dy[i] = dy;
+        s.xtemp[i] = xtemp;
+        s.ytemp[i] = ytemp;
+    }
+
+    private static final int TOP_LEFT = 1;
+    private static final int TOP_RIGHT = 2;
+    private static final int BOTTOM_LEFT = 4;
+    private static final int BOTTOM_RIGHT = 8;
+
+    // blocked corners as bits, with the same box MapObject.calculateCorners uses
+    private static int corners(TileMap tm, int tileSize, int cwidth, double x, double y) {
+        int leftTile = (int) (x - cwidth / 2) / tileSize;
+        int rightTile = (int) (x + cwidth / 2 - 1) / tileSize;
+        int topTile = (int) (y - cwidth / 2) / tileSize;
+        int bottomTile = (int) (y + cwidth / 2 - 1) / tileSize;
+        int c = 0;
+        if(tm.getType(topTile, leftTile) == Tile.BLOCKED) c |= TOP_LEFT;
+        if(tm.getType(topTile, rightTile) == Tile.BLOCKED) c |= TOP_RIGHT;
+        if(tm.getType(bottomTile, leftTile) == Tile.BLOCKED) c |= BOTTOM_LEFT;
+        if(tm.getType(bottomTile, rightTile) == Tile.BLOCKED) c |= BOTTOM_RIGHT;
+        return c;
+    }
+
+}
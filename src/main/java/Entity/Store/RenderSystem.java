@@ -0,0 +1,31 @@
+package Entity.Store;
+
+import Main.GamePanel;
+import TileMap.TileMap;
+
+import java.awt.*;
+
+// draws every on-screen entity, the same placement as MapObject.draw
+public class RenderSystem {
+
+    private RenderSystem() {}
+
+    public static void draw(EntityStore s, Graphics2D g, TileMap tm) {
+        double xmap = tm.getRenderX();
+        double ymap = tm.getRenderY();
+        for(int i = 0; i < s.size(); i++) {
+            EntityKind k = s.kindOf(i);
+            int width = k.width;
+            int height = k.height;
+            double x = s.x[i] + xmap;
+            double y = s.y[i] + ymap;
+            if(x + width < 0 || x - width > GamePanel.WIDTH || y + height < 0 || y - height > GamePanel.HEIGHT) continue;
+            if(s.has(i, EntityStore.FACING_RIGHT)) {
+                g.drawImage(k.frames[s.frame[i]], (int) (x - width / 2), (int) (y - height / 2), null);
+            } else {
+                g.drawImage(k.mirrored[s.frame[i]], (int) (x - width / 2 + width) - width, (int) (y - height / 2), null);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package Entity.Store;
+
+import Assets.AssetCache;
+import Main.GameClock;
+
+// Slugger ported to the entity store: patrols until it hits a wall, then turns around
+public class SluggerBehaviour implements Behaviour {
+
+    // the template matching Slugger's constructor
+    public static EntityKind kind() {
+        EntityKind k = new EntityKind();
+        k.moveSpeed = 0.3;
+        k.maxSpeed = 0.3;
+        k.fallSpeed = 0.2;
+        k.maxFallSpeed = 10.0;
+        k.width = 30;
+        k.height = 30;
+        k.cwidth = 20;
+        k.cheight = 20;
+        k.health = 2;
+        k.damage = 1;
+        k.frames = AssetCache.getFrames("/Sprites/Enemies/slugger.gif", 0, 0, k.width, k.height, 3);
+        k.mirrored = AssetCache.getMirrored(k.frames);
+        k.delay = 300;
+        k.behaviour = new SluggerBehaviour();
+        return k;
+    }
+
+    // sets the flags a freshly constructed Slugger starts with
+    public static int spawn(EntityStore s, int kindId, double x, double y, long now) {
+        int i = s.spawn(kindId, x, y, now);
+        s.flags[i] |= EntityStore.RIGHT | EntityStore.FACING_RIGHT;
+        return i;
+    }
+
+    public void steer(EntityStore s, int i) {
+        EntityKind k = s.kindOf(i);
+        if(s.has(i, EntityStore.LEFT)) {
+            s.dx[i] -= k.moveSpeed;
+            if(s.dx[i] < -k.maxSpeed) s.dx[i] = -k.maxSpeed;
+        } else if(s.has(i, EntityStore.RIGHT)) {
+            s.dx[i] += k.moveSpeed;
+            if(s.dx[i] > k.maxSpeed) s.dx[i] = k.maxSpeed;
+        }
+        if(s.has(i, EntityStore.FALLING)) {
+            s.dy[i] += k.fallSpeed;
+            if(s.dy[i] > 0) s.set(i, EntityStore.JUMPING, false);
+        }
+    }
+
+    public void react(EntityStore s, int i, long now) {
+
+        // check flinching
+        if(s.has(i, EntityStore.FLINCHING) && GameClock.millis(now - s.flinchTimer[i]) > 400) {
+            s.set(i, EntityStore.FLINCHING, false);
+        }
+
+        // if it hits a wall, go other direction
+        EntityKind k = s.kindOf(i);
+        int f = s.flags[i];
+        if((f & EntityStore.RIGHT) != 0 && s.dx[i] == 0) {
+            f = (f & ~(EntityStore.RIGHT | EntityStore.FACING_RIGHT)) | EntityStore.LEFT;
+            s.dx[i] = -k.moveSpeed;
+        }
+        if((f & EntityStore.LEFT) != 0 && s.dx[i] == 0) {
+            f = (f & ~EntityStore.LEFT) | EntityStore.RIGHT | EntityStore.FACING_RIGHT;
+            s.dx[i] = k.moveSpeed;
+        }
+        s.flags[i] = f;
+    }
+
+}
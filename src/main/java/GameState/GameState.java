@@ -3,11 +3,18 @@ package GameState;
 public abstract class GameState {
 
     protected GameStateManager gsm;
+
+    // resources to decode before init() runs
+    public String[] getPreloadList() { return null; }
+
     public abstract void init();
     public abstract void update();
     public abstract void draw(java.awt.Graphics2D g);
     public abstract void keyPressed(int k);
     public abstract void keyReleased(int k);
 
+    // fraction of a tick between the last two updates, used when drawing
+    public void setInterpolation(double alpha) {}
+
 
 }
@@ -1,43 +1,197 @@
 package GameState;
 
+import Assets.AssetCache;
+import Diagnostics.StateInitEvent;
+import Diagnostics.StateTransitionEvent;
+import Main.GameClock;
+import Main.InputQueue;
+import Render.SoftwareRenderer;
+
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 
-public class GameStateManager {
+public class GameStateManager implements InputQueue.Listener {
 
+    // states are built the first time they are entered
+    private ArrayList<Supplier<GameState>> factories;
     private ArrayList<GameState> gameStates;
+    private GameState current;
     private int currentState;
 
+    private GameClock clock;
+
+    // async loading: a loader thread builds and inits the next state while the loading state
+    // runs, then hands it over for the game thread to switch to at the start of a tick
+    private boolean async;
+    private LoadingState loadingState;
+    private final AtomicReference<GameState> loaded = new AtomicReference<GameState>();
+    private GameState previous;
+    private int loadingId = -1;
+    private StateTransitionEvent transition;
+
+    // keys pressed during the loading screen and still down, pressed again on the new state
+    private final BitSet held = new BitSet();
+
+    // set when tiles and sprites are blitted straight into the frame buffer
+    private SoftwareRenderer renderer;
+
     public static final int MENUSTATE = 0;
     public static final int LEVEL1STATE = 1;
 
+    // loads states on the calling thread, so ticks stay deterministic
     public GameStateManager() {
+        this(false);
+    }
+
+    public GameStateManager(boolean async) {
+        this.async = async;
+        factories = new ArrayList<Supplier<GameState>>();
         gameStates = new ArrayList<GameState>();
+        clock = new GameClock();
+
+        register(() -> new MenuState(this));
+        register(() -> new Level1State(this));
+        loadingState = new LoadingState(this);
 
         currentState = MENUSTATE;
-        gameStates.add(new MenuState(this));
-        gameStates.add(new Level1State(this));
+        current = load(MENUSTATE);
+    }
+
+    // returns the id to pass to setState
+    public int register(Supplier<GameState> factory) {
+        factories.add(factory);
+        gameStates.add(null);
+        return factories.size() - 1;
     }
 
     public void setState(int state) {
-        currentState = state;
-        gameStates.get(currentState).init();
+
+        // already switching
+        if(loadingId != -1) return;
+
+        transition = new StateTransitionEvent();
+        transition.begin();
+        transition.from = current.getClass().getSimpleName();
+
+        if(!async) {
+            current = load(state);
+            currentState = state;
+            commitTransition();
+            return;
+        }
+
+        loadingId = state;
+        held.clear();
+        previous = current;
+        loadingState.init();
+        current = loadingState;
+        Thread.ofVirtual().name("state-loader").start(() -> {
+            // anything thrown, errors included, sends the game back rather than leaving it loading
+            try {
+                loaded.set(load(state));
+            } catch(Throwable e) {
+                e.printStackTrace();
+                loaded.set(previous);
+            }
+        });
+    }
+
+    public boolean isLoading() { return loadingId != -1; }
+
+    // a state is only kept once it has loaded and inited; one that failed is built afresh next time
+    private GameState load(int state) {
+        GameState next = gameStates.get(state);
+        gameStates.set(state, null);
+        if(next == null) {
+            next = factories.get(state).get();
+        }
+
+        // decode the state's images side by side when loading in the background
+        String[] paths = next.getPreloadList();
+        if(async && paths != null) {
+            ExecutorService decoders = Executors.newVirtualThreadPerTaskExecutor();
+            try {
+                for(int i = 0; i < paths.length; i++) {
+                    String path = paths[i];
+                    decoders.submit(() -> AssetCache.getImage(path));
+                }
+            } finally {
+                decoders.close();
+            }
+        } else {
+            AssetCache.preload(paths);
+        }
+
+        StateInitEvent init = new StateInitEvent();
+        init.begin();
+        next.init();
+        init.state = next.getClass().getSimpleName();
+        init.commit();
+
+        gameStates.set(state, next);
+        return next;
+    }
+
+    private void commitTransition() {
+        transition.to = current.getClass().getSimpleName();
+        transition.commit();
+        transition = null;
     }
 
     public void update() {
-        gameStates.get(currentState).update();
+        clock.advance();
+
+        // switch once the loader is done
+        if(loadingId != -1) {
+            GameState next = loaded.getAndSet(null);
+            if(next != null) {
+                current = next;
+                currentState = next == previous ? currentState : loadingId;
+                previous = null;
+                loadingId = -1;
+                commitTransition();
+                for(int k = held.nextSetBit(0); k >= 0; k = held.nextSetBit(k + 1)) {
+                    current.keyPressed(k);
+                }
+                held.clear();
+            }
+        }
+
+        current.update();
+    }
+
+    public GameClock getClock() { return clock; }
+
+    public void setSoftwareRenderer(SoftwareRenderer renderer) { this.renderer = renderer; }
+    public SoftwareRenderer getSoftwareRenderer() { return renderer; }
+    public int getState() { return currentState; }
+
+    public void setInterpolation(double alpha) {
+        current.setInterpolation(alpha);
     }
 
     public void draw(java.awt.Graphics2D g) {
-        gameStates.get(currentState).draw(g);
+        current.draw(g);
     }
 
     public void keyPressed(int k) {
-        gameStates.get(currentState).keyPressed(k);
+        if(loadingId != -1 && k >= 0) held.set(k);
+        current.keyPressed(k);
     }
 
     public void keyReleased(int k) {
-        gameStates.get(currentState).keyReleased(k);
+        if(loadingId != -1 && k >= 0) held.clear(k);
+        current.keyReleased(k);
+    }
+
+    public void onKey(int key, boolean pressed, long time) {
+        if(pressed) keyPressed(key);
+        else keyReleased(key);
     }
 
 }
@@ -1,10 +1,13 @@
 package GameState;
 
+import Diagnostics.EntityCountEvent;
+import Diagnostics.FrameProfiler;
 import Entity.*;
 import Entity.Enemies.Slugger;
 import Main.GamePanel;
+import Render.SoftwareRenderer;
 import TileMap.Background;
-import TileMap.Background;
+import TileMap.ParallaxBackground;
 import TileMap.TileMap;
 
 import java.awt.*;
@@ -14,43 +17,72 @@ import java.util.ArrayList;
 public class Level1State extends GameState {
 
     private TileMap tileMap;
-    private Background bg;
+    private ParallaxBackground bg;
 
     private Player player;
 
     private ArrayList<Enemy> enemies;
+    private SpatialHash<Enemy> enemyGrid;
     private ArrayList<Explosion> explosions;
+    private ObjectPool<Explosion> explosionPool;
 
     private HUD hud;
 
+    // serial or parallel entity updates
+    private EntityUpdater updater;
+
+    // pool counters at the end of the last tick, for spawn and despawn counts
+    private long lastObtained;
+    private long lastReleased;
+
+    private static final String[] PRELOAD = {
+        "/Tilesets/grasstileset.gif",
+        "/Backgrounds/grassbg1.gif",
+        "/Sprites/Player/playersprites.gif",
+        "/Sprites/Player/fireball.gif",
+        "/Sprites/Enemies/slugger.gif",
+        "/Sprites/Enemies/explosion.gif",
+        "/HUD/hud.gif"
+    };
+
     public Level1State (GameStateManager gsm) {
         this.gsm = gsm;
-        init();
+        updater = EntityUpdater.fromProperties();
     }
 
     public void init() {
 
         tileMap = new TileMap(30);
-        tileMap.loadTiles("/TileSets/grasstileset.gif");
-        tileMap.loadMap("/Maps/level1-1.map");
+        tileMap.loadTiles("/Tilesets/grasstileset.gif");
+        tileMap.loadMap("/Maps/level1-1.bmap");
         tileMap.setPosition(0, 0);
         tileMap.setTween(1);
 
-        bg = new Background("/Backgrounds/grassbg1.gif", 0.1);
+        bg = new ParallaxBackground("level1.bg");
+        bg.add(new Background("/Backgrounds/grassbg1.gif", 0.1));
 
         player = new Player(tileMap);
         player.setPosition(100, 100);
 
         populateEnemies();
 
-        explosions = new ArrayList<Explosion>();
+        explosions = new ArrayList<Explosion>(32);
+        explosionPool = new ObjectPool<Explosion>(Explosion::new, 32, ObjectPool.Overflow.DROP);
 
         hud = new HUD(player);
 
+        lastObtained = 0;
+        lastReleased = 0;
+
     }
 
+    public String[] getPreloadList() { return PRELOAD; }
+    public ObjectPool<Explosion> getExplosionPool() { return explosionPool; }
+    public SpatialHash<Enemy> getEnemyGrid() { return enemyGrid; }
+
     private void populateEnemies() {
         enemies = new ArrayList<Enemy>();
+        enemyGrid = new SpatialHash<Enemy>(64);
 
         Slugger s;
         Point[] points = new Point[] {
@@ -66,67 +98,130 @@ public class Level1State extends GameState {
             s = new Slugger(tileMap);
             s.setPosition(points[i].x, points[i].y);
             enemies.add(s);
+            enemyGrid.insert(s);
         }
 
     }
 
     public void update() {
         // update player
+        FrameProfiler.begin(FrameProfiler.UPDATE_PLAYER);
         player.update();
         tileMap.setPosition(GamePanel.WIDTH / 2 - player.getx(), GamePanel.HEIGHT / 2 - player.gety());
 
         // set background
         bg.setPosition(tileMap.getx(), tileMap.gety());
+        FrameProfiler.end(FrameProfiler.UPDATE_PLAYER);
 
         // attack enemies
-        player.checkAttack(enemies);
-
-        // update all enemies
+        FrameProfiler.begin(FrameProfiler.UPDATE_ENEMIES);
+        player.checkAttack(enemyGrid);
+
+        // update all enemies, each only touches its own state; the grid catches up on their moves after
+        tileMap.getStore().setHoldPageOuts(true);
+        enemyGrid.setDeferred(true);
+        updater.update(enemies, Enemy::update);
+        enemyGrid.setDeferred(false);
+        tileMap.getStore().setHoldPageOuts(false);
+
+        // then apply removals and spawns in list order
+        int killed = 0;
         for(int i = 0; i < enemies.size(); i++) {
             Enemy e = enemies.get(i);
-            e.update();
             if(e.isDead()) {
+                killed++;
                 enemies.remove(i);
+                enemyGrid.remove(e);
                 i--;
-                explosions.add(new Explosion(e.getx(), e.gety()));
+                Explosion ex = explosionPool.obtain();
+                if(ex != null) {
+                    ex.reset(e.getx(), e.gety());
+                    explosions.add(ex);
+                }
             }
         }
+        FrameProfiler.end(FrameProfiler.UPDATE_ENEMIES);
 
         // update explosions
+        FrameProfiler.begin(FrameProfiler.UPDATE_EFFECTS);
+        updater.update(explosions, Explosion::update);
         for(int i = 0; i < explosions.size(); i++) {
-            explosions.get(i).update();
-            if(explosions.get(i).shouldRemove()) {
-                explosions.remove(i);
+            Explosion ex = explosions.get(i);
+            if(ex.shouldRemove()) {
+                int last = explosions.size() - 1;
+                explosions.set(i, explosions.get(last));
+                explosions.remove(last);
+                explosionPool.release(ex);
                 i--;
             }
         }
+        FrameProfiler.end(FrameProfiler.UPDATE_EFFECTS);
+
+        countEntities(killed);
+
+    }
+
+    private void countEntities(int killed) {
+        ObjectPool<FireBall> fireBallPool = player.getFireBallPool();
+        long obtained = explosionPool.getObtained() + fireBallPool.getObtained();
+        long released = explosionPool.getReleased() + fireBallPool.getReleased();
+        int spawned = (int) (obtained - lastObtained);
+        int despawned = (int) (released - lastReleased) + killed;
+        lastObtained = obtained;
+        lastReleased = released;
+        if(spawned == 0 && despawned == 0) return;
+
+        EntityCountEvent event = new EntityCountEvent();
+        if(!event.isEnabled()) return;
+        event.spawned = spawned;
+        event.despawned = despawned;
+        event.enemies = enemies.size();
+        event.explosions = explosions.size();
+        event.fireBalls = player.getFireBalls().size();
+        event.commit();
+    }
 
+    public void setInterpolation(double alpha) {
+        tileMap.setInterpolation(alpha);
     }
 
     public void draw(Graphics2D g) {
 
         // draw bg
+        FrameProfiler.begin(FrameProfiler.DRAW_BACKGROUND);
         bg.draw(g);
+        FrameProfiler.end(FrameProfiler.DRAW_BACKGROUND);
 
         // draw tilemap
-        tileMap.draw(g);
+        SoftwareRenderer renderer = gsm.getSoftwareRenderer();
+        FrameProfiler.begin(FrameProfiler.DRAW_TILEMAP);
+        if(renderer != null) tileMap.draw(renderer);
+        else tileMap.draw(g);
+        FrameProfiler.end(FrameProfiler.DRAW_TILEMAP);
 
         // draw player
-        player.draw(g);
+        FrameProfiler.begin(FrameProfiler.DRAW_ENTITIES);
+        if(renderer != null) player.draw(renderer);
+        else player.draw(g);
 
         // draw enemies
         for(int i = 0; i < enemies.size(); i++) {
-            enemies.get(i).draw(g);
+            if(renderer != null) enemies.get(i).draw(renderer);
+            else enemies.get(i).draw(g);
         }
 
         // draw explosions
         for(int i = 0; i < explosions.size(); i++) {
-            explosions.get(i).setMapPosition((int) tileMap.getx(), (int) tileMap.gety());
-            explosions.get(i).draw(g);
+            explosions.get(i).setMapPosition((int) tileMap.getRenderX(), (int) tileMap.getRenderY());
+            if(renderer != null) explosions.get(i).draw(renderer);
+            else explosions.get(i).draw(g);
         }
+        FrameProfiler.end(FrameProfiler.DRAW_ENTITIES);
 
         // draw hud
+        FrameProfiler.begin(FrameProfiler.DRAW_HUD);
         hud.draw(g);
+        FrameProfiler.end(FrameProfiler.DRAW_HUD);
 
     }
 
@@ -0,0 +1,53 @@
+package GameState;
+
+import Main.GamePanel;
+import Render.BitmapFont;
+
+import java.awt.*;
+
+// shown while the next state loads in the background; needs no assets of its own
+public class LoadingState extends GameState {
+
+    private int ticks;
+
+    private BitmapFont font;
+    private Color barColor;
+
+    public LoadingState(GameStateManager gsm) {
+        this.gsm = gsm;
+        font = new BitmapFont(new Font("Arial", Font.PLAIN, 12), Color.WHITE);
+        barColor = new Color(128, 0, 0);
+    }
+
+    public void init() {
+        ticks = 0;
+    }
+
+    public void update() {
+        ticks++;
+    }
+
+    public void draw(Graphics2D g) {
+
+        // clear
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, GamePanel.WIDTH, GamePanel.HEIGHT);
+
+        // text with cycling dots
+        font.drawString(g, "Loading...", 0, 7 + ticks / 15 % 4, 130, 110);
+
+        // a block sliding back and forth
+        int travel = 100 - 20;
+        int pos = ticks % (2 * travel);
+        if(pos > travel) pos = 2 * travel - pos;
+        g.setColor(Color.DARK_GRAY);
+        g.fillRect(110, 120, 100, 4);
+        g.setColor(barColor);
+        g.fillRect(110 + pos, 120, 20, 4);
+
+    }
+
+    public void keyPressed(int k) {}
+    public void keyReleased(int k) {}
+
+}
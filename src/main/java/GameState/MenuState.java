@@ -1,34 +1,38 @@
 package GameState;
 
+import Render.BitmapFont;
 import TileMap.Background;
+import TileMap.ParallaxBackground;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
 
 public class MenuState extends GameState {
 
-    private Background bg;
+    private ParallaxBackground bg;
 
     private int currentChoice = 0;
     private String[] options = { "Start", "Help", "Quit"};
 
-    private Color titleColor;
-    private Font titleFont;
-
-    private Font font;
+    private BitmapFont titleFont;
+    private BitmapFont font;
+    private BitmapFont selectedFont;
 
     public MenuState(GameStateManager gsm) {
         this.gsm = gsm;
 
         try {
 
-            bg = new Background("/Backgrounds/menubg.gif", 1);
-            bg.setVector(-0.1, 0);
+            Background layer = new Background("/Backgrounds/menubg.gif", 1);
+            layer.setVector(-0.1, 0);
+            bg = new ParallaxBackground("menu.bg");
+            bg.add(layer);
 
-            titleColor = new Color(128, 0, 0);
-            titleFont = new Font("Century Gothic", Font.PLAIN, 28);
+            titleFont = new BitmapFont(new Font("Century Gothic", Font.PLAIN, 28), new Color(128, 0, 0));
 
-            font = new Font("Arial", Font.PLAIN, 12);
+            Font optionFont = new Font("Arial", Font.PLAIN, 12);
+            font = new BitmapFont(optionFont, Color.RED);
+            selectedFont = new BitmapFont(optionFont, Color.BLACK);
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -46,19 +50,15 @@ public class MenuState extends GameState {
         bg.draw(g);
 
         // draw title
-        g.setColor(titleColor);
-        g.setFont(titleFont);
-        g.drawString("Dragon Tale", 80, 70);
+        titleFont.drawString(g, "Dragon Tale", 80, 70);
 
         // draw menu options
-        g.setFont(font);
         for(int i = 0; i < options.length; i++) {
             if(i == currentChoice) {
-                g.setColor(Color.BLACK);
+                selectedFont.drawString(g, options[i], 145, 140 + i * 15);
             } else {
-                g.setColor(Color.RED);
+                font.drawString(g, options[i], 145, 140 + i * 15);
             }
-            g.drawString(options[i], 145, 140 + i * 15);
         }
     }
 
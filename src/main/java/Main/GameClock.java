@@ -0,0 +1,23 @@
+package Main;
+
+// simulation time, advanced once per tick by the GameStateManager; timers count ticks
+// so they run the same no matter how the frames were paced
+public class GameClock {
+
+    public static final int TICKS_PER_SECOND = 60;
+    public static final long TICK_NANOS = 1000000000L / TICKS_PER_SECOND;
+
+    private long tick;
+
+    public void advance() { tick++; }
+    public void reset() { tick = 0; }
+
+    public long getTick() { return tick; }
+    public long getNanos() { return tick * TICK_NANOS; }
+
+    // whole milliseconds of simulation time in the given number of ticks
+    public static long millis(long ticks) {
+        return ticks * 1000 / TICKS_PER_SECOND;
+    }
+
+}
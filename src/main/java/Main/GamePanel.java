@@ -1,6 +1,16 @@
 package Main;
 
+import Diagnostics.FrameProfiler;
+import Diagnostics.OversleepEvent;
+import Diagnostics.PresentEvent;
+import Diagnostics.RenderEvent;
+import Diagnostics.TickEvent;
 import GameState.GameStateManager;
+import Render.CanvasPresenter;
+import Render.IntegerScaler;
+import Render.PanelPresenter;
+import Render.Presenter;
+import Render.SoftwareRenderer;
 
 import javax.swing.JPanel;
 import java.awt.*;
@@ -12,7 +22,7 @@ public class GamePanel extends JPanel implements Runnable, KeyListener{
     // demensions
     public static final int WIDTH = 320;
     public static final int HEIGHT = 240;
-    public static final int SCALE = 2;
+    public static final int SCALE = readScale();
 
     // game thread
     private Thread thread;
@@ -20,25 +30,81 @@ public class GamePanel extends JPanel implements Runnable, KeyListener{
     private int FPS = 60;
     private long targetTime = 1000/FPS;
 
+    // fixed timestep
+    private static final long TICK_NANOS = GameClock.TICK_NANOS;
+    private static final int MAX_TICKS_PER_FRAME = 5;
+    private static final long SPIN_NANOS = 2000000;
+    private static final long OVERSLEEP_NANOS = 500000;
+    private boolean fixedStep;
+    private long frameNanos = 1000000000L / FPS;
+    private double interpolation;
+
+    // frame pacing stats
+    private long ticks;
+    private long frames;
+    private long missedFrames;
+    private long droppedTicks;
+    private long tickLag;
+    private long maxTickLag;
+
     // image
     private BufferedImage image;
     private Graphics2D g;
 
+    // screen output
+    private Canvas canvas;
+    private Presenter presenter;
+    private IntegerScaler scaler;
+
     // game state manager
     private GameStateManager gsm;
 
+    // key events from the event thread, applied by the game thread
+    private InputQueue input = new InputQueue(256);
+    private InputQueue.Listener inputListener;
+
+    // recorded input replayed in place of the keyboard
+    private volatile InputScript replay;
+
     public GamePanel() {
-        super();
+        super(new BorderLayout());
         setPreferredSize(new Dimension(WIDTH * SCALE, HEIGHT * SCALE));
         setFocusable(true);
-        requestFocus();
+        fixedStep = !"legacy".equals(System.getProperty("game.loop"));
+
+        if("passive".equals(System.getProperty("game.renderer"))) {
+            presenter = new PanelPresenter(this);
+        } else {
+            canvas = new Canvas();
+            canvas.setPreferredSize(new Dimension(WIDTH * SCALE, HEIGHT * SCALE));
+            canvas.setFocusable(true);
+            add(canvas);
+            presenter = new CanvasPresenter(canvas);
+        }
+
+        // scale on the raster ourselves unless asked to leave it to Java2D
+        if(SCALE > 1 && !"java2d".equals(System.getProperty("game.scaler"))) {
+            scaler = new IntegerScaler(SCALE, Integer.getInteger("game.scaler.threads", 1));
+        }
+    }
+
+    // -Dgame.scale=1..6, 2 by default
+    private static int readScale() {
+        int scale = Integer.getInteger("game.scale", 2);
+        return Math.max(1, Math.min(6, scale));
     }
 
     public void addNotify() {
         super.addNotify();
         if(thread == null) {
             thread = new Thread(this);
-            addKeyListener(this);
+            if(canvas != null) {
+                canvas.addKeyListener(this);
+                canvas.requestFocus();
+            } else {
+                addKeyListener(this);
+                requestFocus();
+            }
             thread.start();
         }
     }
@@ -50,12 +116,43 @@ public class GamePanel extends JPanel implements Runnable, KeyListener{
 
         running = true;
 
-        gsm = new GameStateManager();
+        String replayPath = System.getProperty("game.replay");
+        String recordPath = System.getProperty("game.record");
+
+        // recordings count ticks, so they need loads that take the same number every time
+        boolean async = replayPath == null && recordPath == null && !"sync".equals(System.getProperty("game.loading"));
+        gsm = new GameStateManager(async);
+        inputListener = gsm;
+        if(Boolean.getBoolean("game.softrender")) gsm.setSoftwareRenderer(new SoftwareRenderer(image));
+
+        if(replayPath != null) {
+            try {
+                replay = InputScript.load(replayPath);
+            } catch(Exception e) {
+                e.printStackTrace();
+            }
+        } else if(recordPath != null) {
+            InputRecorder recorder = new InputRecorder(gsm);
+            recorder.saveOnExit(recordPath);
+            inputListener = recorder;
+        }
+
+        FrameProfiler.dumpOnExit();
     }
 
     public void run() {
         init();
 
+        if(fixedStep) {
+            runFixed();
+        } else {
+            runLegacy();
+        }
+
+    }
+
+    private void runLegacy() {
+
         long start;
         long elapsed;
         long wait;
@@ -65,16 +162,22 @@ public class GamePanel extends JPanel implements Runnable, KeyListener{
         while (running) {
 
             start = System.nanoTime();
+            FrameProfiler.beginFrame();
 
-            update();
+            drainInput(System.nanoTime());
+            update(0);
+            ticks++;
             draw();
             drawToScreen();
+            frames++;
+            FrameProfiler.endFrame();
 
             elapsed = System.nanoTime() - start;
 
             wait = targetTime - elapsed / 1000000;
 
             if (wait < 0) {
+                missedFrames++;
                 wait = 5;
             }
 
@@ -91,18 +194,132 @@ public class GamePanel extends JPanel implements Runnable, KeyListener{
 
     }
 
-    private void update() {
+    private void runFixed() {
+
+        long previous = System.nanoTime();
+        long nextFrame = previous + frameNanos;
+        long accumulator = 0;
+
+        // game loop
+        while (running) {
+
+            long now = System.nanoTime();
+            FrameProfiler.beginFrame();
+            accumulator += now - previous;
+            previous = now;
+
+            // catch up on simulation, but never more than a few ticks per frame
+            int steps = 0;
+            while(accumulator >= TICK_NANOS && steps < MAX_TICKS_PER_FRAME) {
+                // only input from before the end of this tick's slice of time
+                drainInput(now - accumulator + TICK_NANOS);
+                update(steps);
+                accumulator -= TICK_NANOS;
+                steps++;
+                ticks++;
+            }
+            if(accumulator >= TICK_NANOS) {
+                droppedTicks += accumulator / TICK_NANOS;
+                accumulator %= TICK_NANOS;
+            }
+
+            tickLag = accumulator;
+            if(tickLag > maxTickLag) maxTickLag = tickLag;
+
+            // render between the last two simulated states
+            interpolation = (double) accumulator / TICK_NANOS;
+            gsm.setInterpolation(interpolation);
+            draw();
+            drawToScreen();
+            frames++;
+            FrameProfiler.endFrame();
+
+            now = System.nanoTime();
+            if(now > nextFrame) {
+                missedFrames++;
+                nextFrame = now + frameNanos;
+            } else {
+                waitUntil(nextFrame);
+                nextFrame += frameNanos;
+            }
+        }
+
+    }
+
+    // sleeps for the bulk of the wait and spins the last stretch
+    private void waitUntil(long deadline) {
+        OversleepEvent event = new OversleepEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long remaining;
+        while((remaining = deadline - System.nanoTime()) > 0) {
+            if(remaining > SPIN_NANOS) {
+                try {
+                    Thread.sleep((remaining - SPIN_NANOS) / 1000000);
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+
+        // only late wake-ups are worth recording
+        long overshoot = System.nanoTime() - deadline;
+        if(overshoot > OVERSLEEP_NANOS) {
+            event.requested = deadline - start;
+            event.overshoot = overshoot;
+            event.commit();
+        }
+    }
+
+    public long getTicks() { return ticks; }
+    public long getFrames() { return frames; }
+    public long getMissedFrames() { return missedFrames; }
+    public long getDroppedTicks() { return droppedTicks; }
+    public long getTickLag() { return tickLag; }
+    public long getMaxTickLag() { return maxTickLag; }
+    public long getDroppedInput() { return input.getDropped(); }
+
+    private void drainInput(long upTo) {
+        FrameProfiler.begin(FrameProfiler.INPUT);
+        if(replay != null) replay.feed(gsm.getClock().getTick(), gsm);
+        else input.drain(upTo, inputListener);
+        FrameProfiler.end(FrameProfiler.INPUT);
+    }
+
+    private void update(int step) {
+        TickEvent event = new TickEvent();
+        event.begin();
         gsm.update();
+        event.tick = ticks;
+        event.step = step;
+        event.commit();
     }
 
     private void draw() {
+        RenderEvent event = new RenderEvent();
+        event.begin();
         gsm.draw(g);
+        FrameProfiler.drawOverlay(g);
+        event.frame = frames;
+        event.interpolation = interpolation;
+        event.commit();
     }
 
     private void drawToScreen() {
-        Graphics g2 = getGraphics();
-        g2.drawImage(image, 0, 0, WIDTH * SCALE, HEIGHT * SCALE, null);
-        g2.dispose();
+        PresentEvent event = new PresentEvent();
+        event.begin();
+        FrameProfiler.begin(FrameProfiler.PRESENT);
+        if(scaler != null) {
+            presenter.present(scaler.scale(image), WIDTH * SCALE, HEIGHT * SCALE);
+        } else {
+            presenter.present(image, WIDTH * SCALE, HEIGHT * SCALE);
+        }
+        FrameProfiler.end(FrameProfiler.PRESENT);
+        event.frame = frames;
+        event.commit();
     }
 
     public void keyTyped(KeyEvent key) {
@@ -110,11 +327,17 @@ public class GamePanel extends JPanel implements Runnable, KeyListener{
     }
 
     public void keyPressed(KeyEvent key) {
-        gsm.keyPressed(key.getKeyCode());
+        if(key.getKeyCode() == KeyEvent.VK_F3) {
+            FrameProfiler.toggleOverlay();
+            return;
+        }
+        if(replay != null) return;
+        input.offer(key.getKeyCode(), true, System.nanoTime());
     }
 
     public void keyReleased(KeyEvent key) {
-        gsm.keyReleased(key.getKeyCode());
+        if(replay != null) return;
+        input.offer(key.getKeyCode(), false, System.nanoTime());
     }
 
 
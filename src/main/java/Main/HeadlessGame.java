@@ -0,0 +1,180 @@
+package Main;
+
+import Diagnostics.FrameProfiler;
+import Diagnostics.LatencyHistogram;
+import GameState.GameStateManager;
+import Render.SoftwareRenderer;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+// steps the game without a window, as fast as it will go or paced at the tick rate
+//
+// usage: HeadlessGame [--ticks N] [--state menu|level1] [--script file] [--render] [--realtime]
+//                     [--timings file.csv] [--max-p99 us]
+//
+// scripts are InputScripts, e.g. recorded with -Dgame.record; --timings writes the time spent
+// in each tick and --max-p99 exits with 1 when the 99th percentile tick is slower than given
+public class HeadlessGame {
+
+    private GameStateManager gsm;
+
+    // scripted input
+    private InputScript script;
+
+    // optional offscreen target, null skips drawing
+    private BufferedImage image;
+    private Graphics2D g;
+
+    private long ticks;
+
+    // per-tick timings, when enabled
+    private long[] inputNanos;
+    private long[] updateNanos;
+    private long[] drawNanos;
+
+    public HeadlessGame(int state, boolean render) {
+        gsm = new GameStateManager();
+        if(state != GameStateManager.MENUSTATE) gsm.setState(state);
+        if(render) {
+            image = new BufferedImage(GamePanel.WIDTH, GamePanel.HEIGHT, BufferedImage.TYPE_INT_RGB);
+            g = image.createGraphics();
+            if(Boolean.getBoolean("game.softrender")) gsm.setSoftwareRenderer(new SoftwareRenderer(image));
+        }
+        script = new InputScript();
+    }
+
+    public void loadScript(String path) throws IOException {
+        script = InputScript.load(path);
+    }
+
+    // keeps the time spent in each of the next n ticks
+    public void recordTimings(int n) {
+        inputNanos = new long[n];
+        updateNanos = new long[n];
+        drawNanos = new long[n];
+    }
+
+    public void tick() {
+        FrameProfiler.beginFrame();
+        long start = System.nanoTime();
+        FrameProfiler.begin(FrameProfiler.INPUT);
+        script.feed(ticks, gsm);
+        FrameProfiler.end(FrameProfiler.INPUT);
+        long input = System.nanoTime();
+        gsm.update();
+        long update = System.nanoTime();
+        if(g != null) gsm.draw(g);
+        long draw = System.nanoTime();
+        if(inputNanos != null && ticks < inputNanos.length) {
+            int i = (int) ticks;
+            inputNanos[i] = input - start;
+            updateNanos[i] = update - input;
+            drawNanos[i] = draw - update;
+        }
+        ticks++;
+        FrameProfiler.endFrame();
+    }
+
+    public void writeTimings(String path) throws IOException {
+        PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(path)));
+        try {
+            out.println("tick,input_ns,update_ns,draw_ns");
+            int n = (int) Math.min(ticks, inputNanos.length);
+            for(int i = 0; i < n; i++) {
+                out.println(i + "," + inputNanos[i] + "," + updateNanos[i] + "," + drawNanos[i]);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    // whole tick times, input through draw
+    public LatencyHistogram getTickHistogram() {
+        LatencyHistogram h = new LatencyHistogram();
+        int n = (int) Math.min(ticks, inputNanos.length);
+        for(int i = 0; i < n; i++) {
+            h.record(inputNanos[i] + updateNanos[i] + drawNanos[i]);
+        }
+        return h;
+    }
+
+    public GameStateManager getGameStateManager() { return gsm; }
+    public BufferedImage getImage() { return image; }
+    public long getTicks() { return ticks; }
+    public InputScript getScript() { return script; }
+
+    public static void main(String[] args) throws IOException {
+
+        if(System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+
+        long maxTicks = -1;
+        int state = GameStateManager.LEVEL1STATE;
+        String scriptPath = null;
+        boolean render = false;
+        boolean realtime = false;
+        String timings = null;
+        double maxP99 = -1;
+        for(int i = 0; i < args.length; i++) {
+            if(args[i].equals("--ticks")) maxTicks = Long.parseLong(args[++i]);
+            else if(args[i].equals("--state")) state = args[++i].equals("menu") ? GameStateManager.MENUSTATE : GameStateManager.LEVEL1STATE;
+            else if(args[i].equals("--script")) scriptPath = args[++i];
+            else if(args[i].equals("--render")) render = true;
+            else if(args[i].equals("--realtime")) realtime = true;
+            else if(args[i].equals("--timings")) timings = args[++i];
+            else if(args[i].equals("--max-p99")) maxP99 = Double.parseDouble(args[++i]);
+            else {
+                System.err.println("usage: HeadlessGame [--ticks N] [--state menu|level1] [--script file] [--render] [--realtime] [--timings file.csv] [--max-p99 us]");
+                System.exit(1);
+            }
+        }
+
+        FrameProfiler.dumpOnExit();
+
+        HeadlessGame game = new HeadlessGame(state, render);
+        if(scriptPath != null) game.loadScript(scriptPath);
+
+        // by default a script runs a second past its last event
+        if(maxTicks < 0) maxTicks = scriptPath != null ? game.getScript().getLastTick() + GameClock.TICKS_PER_SECOND : 10000;
+        if(timings != null || maxP99 >= 0) game.recordTimings((int) maxTicks);
+
+        long start = System.nanoTime();
+        long nextTick = start;
+        while(game.getTicks() < maxTicks) {
+            if(realtime) {
+                nextTick += GameClock.TICK_NANOS;
+                long wait = nextTick - System.nanoTime();
+                if(wait > 0) {
+                    try {
+                        Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+                    } catch(InterruptedException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+            game.tick();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%d ticks in %.1f ms, %.0f ticks/s%s%n", game.getTicks(), elapsed / 1e6,
+                game.getTicks() * 1e9 / elapsed, render ? " with rendering" : "");
+
+        if(timings != null) game.writeTimings(timings);
+        if(game.inputNanos != null) {
+            LatencyHistogram h = game.getTickHistogram();
+            double p99 = h.percentile(0.99) / 1e3;
+            System.out.printf("tick p50 %.1f us, p99 %.1f us, max %.1f us%n", h.percentile(0.5) / 1e3, p99, h.getMax() / 1e3);
+            if(maxP99 >= 0 && p99 > maxP99) {
+                System.out.printf("FAIL: p99 %.1f us over the %.1f us limit%n", p99, maxP99);
+                System.exit(1);
+            }
+        }
+    }
+
+}
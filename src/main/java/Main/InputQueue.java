@@ -0,0 +1,90 @@
+package Main;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// single producer, single consumer ring of timestamped key events; the event thread offers,
+// the game thread drains at the start of each tick, so game state is only touched by one thread
+public class InputQueue {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle DROPPED;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(InputQueue.class, "head", long.class);
+            TAIL = lookup.findVarHandle(InputQueue.class, "tail", long.class);
+            DROPPED = lookup.findVarHandle(InputQueue.class, "dropped", long.class);
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public interface Listener {
+        void onKey(int key, boolean pressed, long time);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final int[] keys;
+    private final boolean[] pressed;
+    private final long[] times;
+
+    // next slot to write, only advanced by the producer
+    private long head;
+    // next slot to read, only advanced by the consumer
+    private long tail;
+
+    // events lost to a full queue, only written by the producer, read from anywhere
+    private long dropped;
+
+    public InputQueue(int capacity) {
+        if(Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of two");
+        this.capacity = capacity;
+        mask = capacity - 1;
+        keys = new int[capacity];
+        pressed = new boolean[capacity];
+        times = new long[capacity];
+    }
+
+    // producer only
+    public boolean offer(int key, boolean isPressed, long time) {
+        long h = head;
+        if(h - (long) TAIL.getAcquire(this) == capacity) {
+            DROPPED.setRelease(this, dropped + 1);
+            return false;
+        }
+        int i = (int) h & mask;
+        keys[i] = key;
+        pressed[i] = isPressed;
+        times[i] = time;
+        HEAD.setRelease(this, h + 1);
+        return true;
+    }
+
+    // consumer only; hands over every event stamped at or before upTo, in order
+    public int drain(long upTo, Listener listener) {
+        long t = tail;
+        long h = (long) HEAD.getAcquire(this);
+        int n = 0;
+        while(t < h) {
+            int i = (int) t & mask;
+            if(times[i] > upTo) break;
+            listener.onKey(keys[i], pressed[i], times[i]);
+            t++;
+            n++;
+        }
+        TAIL.setRelease(this, t);
+        return n;
+    }
+
+    public int size() {
+        return (int) ((long) HEAD.getAcquire(this) - (long) TAIL.getAcquire(this));
+    }
+
+    public int getCapacity() { return capacity; }
+    public long getDropped() { return (long) DROPPED.getAcquire(this); }
+
+}
@@ -0,0 +1,35 @@
+package Main;
+
+import GameState.GameStateManager;
+
+// passes key events through to the game state manager, noting the tick each one was applied before
+public class InputRecorder implements InputQueue.Listener {
+
+    private GameStateManager gsm;
+    private InputScript script;
+
+    public InputRecorder(GameStateManager gsm) {
+        this.gsm = gsm;
+        script = new InputScript();
+    }
+
+    // keys a script cannot name are passed on but not recorded; no state listens for them
+    public void onKey(int key, boolean pressed, long time) {
+        if(InputScript.isNamed(key)) script.add((int) gsm.getClock().getTick(), key, pressed);
+        gsm.onKey(key, pressed, time);
+    }
+
+    public InputScript getScript() { return script; }
+
+    // writes the recording when the vm exits
+    public void saveOnExit(final String path) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                script.save(path, "recorded from the menu, replay with HeadlessGame --state menu --script " + path);
+            } catch(Exception e) {
+                e.printStackTrace();
+            }
+        }));
+    }
+
+}
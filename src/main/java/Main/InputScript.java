@@ -0,0 +1,118 @@
+package Main;
+
+import java.awt.event.KeyEvent;
+import java.io.*;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+
+// key events keyed by the tick they are applied before, one per line as
+// "<tick> press|release <key>", keys named as in KeyEvent without the VK_ prefix;
+// lines starting with # are ignored
+public class InputScript {
+
+    // KeyEvent's VK_ names by key code, without the prefix
+    private static final HashMap<Integer, String> names = new HashMap<Integer, String>();
+    static {
+        for(Field f : KeyEvent.class.getFields()) {
+            if(!f.getName().startsWith("VK_") || f.getType() != int.class) continue;
+            try {
+                names.putIfAbsent(f.getInt(null), f.getName().substring(3));
+            } catch(IllegalAccessException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private int[] ticks;
+    private int[] keys;
+    private boolean[] pressed;
+    private int size;
+
+    // replay position
+    private int next;
+
+    public InputScript() {
+        ticks = new int[64];
+        keys = new int[64];
+        pressed = new boolean[64];
+    }
+
+    public static InputScript load(String path) throws IOException {
+
+        InputScript script = new InputScript();
+        BufferedReader br = new BufferedReader(new FileReader(path));
+        try {
+            String line;
+            while((line = br.readLine()) != null) {
+                line = line.trim();
+                if(line.isEmpty() || line.startsWith("#")) continue;
+                String[] tokens = line.split("\\s+");
+                if(tokens.length != 3) throw new IOException("Bad script line: " + line);
+                int tick = Integer.parseInt(tokens[0]);
+                if(script.size > 0 && tick < script.ticks[script.size - 1]) throw new IOException("Script ticks must not go backwards");
+                boolean isPressed;
+                if(tokens[1].equals("press")) isPressed = true;
+                else if(tokens[1].equals("release")) isPressed = false;
+                else throw new IOException("Expected press or release: " + tokens[1]);
+                script.add(tick, keyCode(tokens[2]), isPressed);
+            }
+        } finally {
+            br.close();
+        }
+        return script;
+    }
+
+    // synchronized with add so a recording can be saved from a shutdown hook
+    public synchronized void save(String path, String comment) throws IOException {
+        PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(path)));
+        try {
+            if(comment != null) out.println("# " + comment);
+            for(int i = 0; i < size; i++) {
+                out.println(ticks[i] + " " + (pressed[i] ? "press" : "release") + " " + names.get(keys[i]));
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    // keys without a name are refused here, so save can always write every event
+    public synchronized void add(int tick, int key, boolean isPressed) {
+        if(!isNamed(key)) throw new IllegalArgumentException("Unnamed key code " + key);
+        if(size == ticks.length) {
+            ticks = Arrays.copyOf(ticks, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+            pressed = Arrays.copyOf(pressed, size * 2);
+        }
+        ticks[size] = tick;
+        keys[size] = key;
+        pressed[size] = isPressed;
+        size++;
+    }
+
+    // applies every event due at or before this tick
+    public void feed(long tick, InputQueue.Listener listener) {
+        while(next < size && ticks[next] <= tick) {
+            listener.onKey(keys[next], pressed[next], tick);
+            next++;
+        }
+    }
+
+    public boolean isFinished() { return next >= size; }
+    public int size() { return size; }
+    public int getLastTick() { return size == 0 ? 0 : ticks[size - 1]; }
+    public void rewind() { next = 0; }
+
+    private static int keyCode(String name) throws IOException {
+        try {
+            return KeyEvent.class.getField("VK_" + name.toUpperCase()).getInt(null);
+        } catch(ReflectiveOperationException e) {
+            throw new IOException("Unknown key " + name);
+        }
+    }
+
+    public static boolean isNamed(int key) {
+        return names.containsKey(key);
+    }
+
+}
@@ -0,0 +1,83 @@
+package Render;
+
+import Assets.ImageConverter;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// printable ASCII in one font and colour, rendered once into an atlas; drawing text is then a
+// plain blit per character, with no layout or allocation. Other characters draw nothing.
+public class BitmapFont {
+
+    private static final char FIRST = 32;
+    private static final char LAST = 126;
+
+    private BufferedImage atlas;
+
+    // every glyph gets a cell of the same size, with room either side for overhang
+    private int cellWidth;
+    private int height;
+    private int ascent;
+    private int pad;
+    private int[] advance;
+
+    public BitmapFont(Font font, Color color) {
+
+        // measure on a scratch image so the metrics match an offscreen frame
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D sg = scratch.createGraphics();
+        FontMetrics fm = sg.getFontMetrics(font);
+        sg.dispose();
+
+        advance = new int[LAST - FIRST + 1];
+        int widest = 0;
+        for(char c = FIRST; c <= LAST; c++) {
+            advance[c - FIRST] = fm.charWidth(c);
+            widest = Math.max(widest, advance[c - FIRST]);
+        }
+        pad = Math.max(2, font.getSize() / 4);
+        cellWidth = widest + 2 * pad;
+        ascent = fm.getAscent();
+        height = fm.getAscent() + fm.getDescent();
+
+        atlas = ImageConverter.createCompatible(cellWidth * advance.length, height, Transparency.TRANSLUCENT);
+        Graphics2D g = atlas.createGraphics();
+        g.setFont(font);
+        g.setColor(color);
+        for(char c = FIRST; c <= LAST; c++) {
+            g.drawString(String.valueOf(c), (c - FIRST) * cellWidth + pad, ascent);
+        }
+        g.dispose();
+
+    }
+
+    // x, y is the baseline start, as with Graphics.drawString
+    public void drawString(Graphics2D g, CharSequence s, int x, int y) {
+        drawString(g, s, 0, s.length(), x, y);
+    }
+
+    public void drawString(Graphics2D g, CharSequence s, int start, int end, int x, int y) {
+        int top = y - ascent;
+        for(int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if(c < FIRST || c > LAST) continue;
+            int sx = (c - FIRST) * cellWidth;
+            int dx = x - pad;
+            g.drawImage(atlas, dx, top, dx + cellWidth, top + height, sx, 0, sx + cellWidth, height, null);
+            x += advance[c - FIRST];
+        }
+    }
+
+    public int stringWidth(CharSequence s) {
+        int w = 0;
+        for(int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if(c >= FIRST && c <= LAST) w += advance[c - FIRST];
+        }
+        return w;
+    }
+
+    public int getAscent() { return ascent; }
+    public int getHeight() { return height; }
+
+}
@@ -0,0 +1,76 @@
+package Render;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+// active rendering with page flipping and an accelerated back buffer
+public class CanvasPresenter implements Presenter {
+
+    private Canvas canvas;
+    private BufferStrategy strategy;
+    private VolatileImage backBuffer;
+
+    // how often the back buffer had to be restored or recreated
+    private long restores;
+
+    public CanvasPresenter(Canvas canvas) {
+        this.canvas = canvas;
+        canvas.setIgnoreRepaint(true);
+    }
+
+    public void present(BufferedImage image, int width, int height) {
+
+        if(strategy == null) {
+            if(!canvas.isDisplayable()) return;
+            canvas.createBufferStrategy(2);
+            strategy = canvas.getBufferStrategy();
+        }
+
+        GraphicsConfiguration gc = canvas.getGraphicsConfiguration();
+
+        do {
+            do {
+                copyToBackBuffer(image, gc);
+                Graphics g = strategy.getDrawGraphics();
+                g.drawImage(backBuffer, 0, 0, width, height, null);
+                g.dispose();
+            } while(strategy.contentsRestored());
+            strategy.show();
+        } while(strategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    private void copyToBackBuffer(BufferedImage image, GraphicsConfiguration gc) {
+        do {
+            if(backBuffer == null || backBuffer.getWidth() != image.getWidth() || backBuffer.getHeight() != image.getHeight()) {
+                createBackBuffer(image, gc);
+            }
+            int status = backBuffer.validate(gc);
+            if(status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                createBackBuffer(image, gc);
+            }
+            if(status != VolatileImage.IMAGE_OK) {
+                restores++;
+            }
+            Graphics2D g = backBuffer.createGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+        } while(backBuffer.contentsLost());
+    }
+
+    private void createBackBuffer(BufferedImage image, GraphicsConfiguration gc) {
+        if(backBuffer != null) backBuffer.flush();
+        backBuffer = gc.createCompatibleVolatileImage(image.getWidth(), image.getHeight());
+    }
+
+    public long getRestores() { return restores; }
+
+    public void dispose() {
+        if(strategy != null) strategy.dispose();
+        if(backBuffer != null) backBuffer.flush();
+    }
+
+}
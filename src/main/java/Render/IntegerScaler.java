@@ -0,0 +1,105 @@
+package Render;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// nearest-neighbour upscaling by a whole factor straight on the int rasters, into an output
+// image that is reused every frame; each source row is widened once and the result copied
+// down for the remaining output rows. Large outputs can be split into row bands across threads.
+public class IntegerScaler {
+
+    private int scale;
+    private ForkJoinPool pool;
+    private int bandRows;
+
+    private BufferedImage output;
+    private int[] dst;
+
+    // threads < 2 scales on the calling thread
+    public IntegerScaler(int scale, int threads) {
+        if(scale < 1) throw new IllegalArgumentException("Scale must be at least 1: " + scale);
+        this.scale = scale;
+        if(threads > 1) pool = new ForkJoinPool(threads);
+        bandRows = 16;
+    }
+
+    public int getScale() { return scale; }
+    public boolean isParallel() { return pool != null; }
+
+    // src must be TYPE_INT_RGB or TYPE_INT_ARGB; the returned image is overwritten by the next call
+    public BufferedImage scale(BufferedImage src) {
+
+        int width = src.getWidth();
+        int height = src.getHeight();
+        if(output == null || output.getWidth() != width * scale || output.getHeight() != height * scale || output.getType() != src.getType()) {
+            output = new BufferedImage(width * scale, height * scale, src.getType());
+            dst = ((DataBufferInt) output.getRaster().getDataBuffer()).getData();
+        }
+        int[] pixels = ((DataBufferInt) src.getRaster().getDataBuffer()).getData();
+
+        if(pool == null || height <= bandRows) {
+            scaleRows(pixels, width, 0, height);
+        } else {
+            pool.invoke(new Band(pixels, width, 0, height));
+        }
+        return output;
+    }
+
+    private void scaleRows(int[] src, int width, int from, int to) {
+        int outWidth = width * scale;
+        for(int y = from; y < to; y++) {
+            int in = y * width;
+            int out = y * scale * outWidth;
+
+            // widen the row
+            if(scale == 1) {
+                System.arraycopy(src, in, dst, out, width);
+            } else {
+                int o = out;
+                for(int x = 0; x < width; x++) {
+                    int p = src[in + x];
+                    for(int k = 0; k < scale; k++) {
+                        dst[o++] = p;
+                    }
+                }
+            }
+
+            // and repeat it
+            for(int k = 1; k < scale; k++) {
+                System.arraycopy(dst, out, dst, out + k * outWidth, outWidth);
+            }
+        }
+    }
+
+    public void shutdown() {
+        if(pool != null) pool.shutdown();
+    }
+
+    private class Band extends RecursiveAction {
+
+        private int[] src;
+        private int width;
+        private int from;
+        private int to;
+
+        Band(int[] src, int width, int from, int to) {
+            this.src = src;
+            this.width = width;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if(to - from <= bandRows) {
+                scaleRows(src, width, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Band(src, width, from, mid), new Band(src, width, mid, to));
+        }
+
+    }
+
+}
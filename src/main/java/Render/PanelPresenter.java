@@ -0,0 +1,23 @@
+package Render;
+
+import javax.swing.JComponent;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// passive rendering through the component's getGraphics()
+public class PanelPresenter implements Presenter {
+
+    private JComponent component;
+
+    public PanelPresenter(JComponent component) {
+        this.component = component;
+    }
+
+    public void present(BufferedImage image, int width, int height) {
+        Graphics g = component.getGraphics();
+        if(g == null) return;
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+    }
+
+}
@@ -0,0 +1,10 @@
+package Render;
+
+import java.awt.image.BufferedImage;
+
+// copies a finished frame to the screen
+public interface Presenter {
+
+    void present(BufferedImage image, int width, int height);
+
+}
@@ -0,0 +1,77 @@
+package Render;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+// blits sprites straight into an int raster, skipping the Java2D pipeline; it writes the same
+// array Graphics2D draws to, so the two can be mixed on one frame as long as calls are in order
+public class SoftwareRenderer {
+
+    private BufferedImage target;
+    private int[] dst;
+    private int width;
+    private int height;
+
+    // clip rectangle, right and bottom exclusive
+    private int clipX0;
+    private int clipY0;
+    private int clipX1;
+    private int clipY1;
+
+    public SoftwareRenderer(BufferedImage target) {
+        int type = target.getType();
+        if(type != BufferedImage.TYPE_INT_RGB && type != BufferedImage.TYPE_INT_ARGB) {
+            throw new IllegalArgumentException("Target must be TYPE_INT_RGB or TYPE_INT_ARGB");
+        }
+        this.target = target;
+        dst = ((DataBufferInt) target.getRaster().getDataBuffer()).getData();
+        width = target.getWidth();
+        height = target.getHeight();
+        resetClip();
+    }
+
+    public BufferedImage getTarget() { return target; }
+
+    public void setClip(int x, int y, int w, int h) {
+        clipX0 = Math.max(0, x);
+        clipY0 = Math.max(0, y);
+        clipX1 = Math.min(width, x + w);
+        clipY1 = Math.min(height, y + h);
+    }
+
+    public void resetClip() {
+        setClip(0, 0, width, height);
+    }
+
+    // draws s with its top left at x, y; left facing sprites come pre-flipped from AssetCache
+    public void draw(Sprite s, int x, int y) {
+
+        // visible part of the sprite, in sprite coordinates
+        int c0 = Math.max(0, clipX0 - x);
+        int c1 = Math.min(s.width, clipX1 - x);
+        int r0 = Math.max(0, clipY0 - y);
+        int r1 = Math.min(s.height, clipY1 - y);
+        if(c0 >= c1 || r0 >= r1) return;
+
+        int[] src = s.pixels;
+        long[] mask = s.mask;
+
+        for(int row = r0; row < r1; row++) {
+            byte kind = s.rows[row];
+            if(kind == Sprite.EMPTY) continue;
+
+            int in = row * s.width;
+            int out = (y + row) * width + x;
+
+            if(kind == Sprite.OPAQUE) {
+                System.arraycopy(src, in + c0, dst, out + c0, c1 - c0);
+                continue;
+            }
+            int m = row * s.words;
+            for(int c = c0; c < c1; c++) {
+                if((mask[m + (c >>> 6)] >>> (c & 63) & 1) != 0) dst[out + c] = src[in + c];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package Render;
+
+import java.awt.image.BufferedImage;
+
+// an image's pixels pulled out once for SoftwareRenderer, with a 1-bit transparency mask;
+// rows are classed as empty, opaque or mixed so whole rows can be skipped or copied
+public class Sprite {
+
+    static final byte EMPTY = 0;
+    static final byte MIXED = 1;
+    static final byte OPAQUE = 2;
+
+    final int width;
+    final int height;
+    final int[] pixels;
+
+    // one bit per pixel, set where it is drawn; rows start on a word boundary
+    final long[] mask;
+    final int words;
+    final byte[] rows;
+
+    public Sprite(BufferedImage image) {
+        width = image.getWidth();
+        height = image.getHeight();
+        pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        words = (width + 63) >>> 6;
+        mask = new long[words * height];
+        rows = new byte[height];
+
+        for(int y = 0; y < height; y++) {
+            int drawn = 0;
+            for(int x = 0; x < width; x++) {
+                if(pixels[y * width + x] >>> 24 >= 128) {
+                    mask[y * words + (x >>> 6)] |= 1L << (x & 63);
+                    drawn++;
+                }
+            }
+            rows[y] = drawn == 0 ? EMPTY : drawn == width ? OPAQUE : MIXED;
+        }
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    public boolean isOpaque(int x, int y) {
+        return (mask[y * words + (x >>> 6)] >>> (x & 63) & 1) != 0;
+    }
+
+}
@@ -0,0 +1,30 @@
+package TileMap;
+
+// tiles already held in memory, as parsed from a text map
+public class ArrayTileSource implements TileSource {
+
+    private int[][] map;
+
+    public ArrayTileSource(int[][] map) {
+        this.map = map;
+    }
+
+    public int getNumRows() { return map.length; }
+    public int getNumCols() { return map.length == 0 ? 0 : map[0].length; }
+
+    public boolean read(int row0, int col0, int rows, int cols, short[] out, int stride) {
+        boolean any = false;
+        for(int r = 0; r < rows; r++) {
+            int[] row = map[row0 + r];
+            for(int c = 0; c < cols; c++) {
+                int tile = row[col0 + c];
+                if(tile != 0) {
+                    out[r * stride + c] = (short) tile;
+                    any = true;
+                }
+            }
+        }
+        return any;
+    }
+
+}
@@ -1,14 +1,19 @@
 package TileMap;
 
+import Assets.AssetCache;
 import Main.GamePanel;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 
+// one parallax layer, drawn from a strip of the image pre-tiled wider than the screen so any
+// horizontal wrap is a single blit
 public class Background {
 
     private BufferedImage image;
+    private BufferedImage strip;
+    private int imageWidth;
+    private boolean opaque;
 
     private double x;
     private double y;
@@ -19,17 +24,15 @@ public class Background {
 
     public Background (String s, double ms) {
 
-        try {
-            image = ImageIO.read(getClass().getResourceAsStream(s));
-            moveScale = ms;
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        image = AssetCache.getImage(s);
+        strip = AssetCache.getStrip(s, GamePanel.WIDTH);
+        imageWidth = image.getWidth();
+        opaque = image.getTransparency() == Transparency.OPAQUE;
+        moveScale = ms;
     }
 
     public void setPosition(double x, double y) {
-        this.x = (x * moveScale) % GamePanel.WIDTH;
+        this.x = x * moveScale;
         this.y = (y * moveScale) % GamePanel.HEIGHT;
     }
 
@@ -41,17 +44,26 @@ public class Background {
     public void update() {
         x += dx;
         y += dy;
+
+        // keep the scroll position near zero so it never loses precision
+        if(x <= -imageWidth || x >= imageWidth) x -= (int) (x / imageWidth) * imageWidth;
     }
 
-    public void draw(Graphics2D g) {
+    public boolean isOpaque() { return opaque; }
 
-        g.drawImage(image, (int) x, (int) y, null);
-        if(x < 0) {
-            g.drawImage(image, (int) x + GamePanel.WIDTH, (int) y, null);
-        }
+    public void draw(Graphics2D g) {
 
-        if(x > 0) {
-            g.drawImage(image, (int) x - GamePanel.WIDTH, (int) y, null);
+        // left edge of the strip, in (-imageWidth, 0]
+        int left = -Math.floorMod(-(int) Math.floor(x), imageWidth);
+
+        // opaque layers overwrite what is behind them, no blending needed
+        if(opaque) {
+            Composite composite = g.getComposite();
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(strip, left, (int) y, null);
+            g.setComposite(composite);
+        } else {
+            g.drawImage(strip, left, (int) y, null);
         }
     }
 
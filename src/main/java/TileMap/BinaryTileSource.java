@@ -0,0 +1,112 @@
+package TileMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.zip.CRC32;
+
+// decodes regions straight out of a (usually memory-mapped) binary map, see MapFile for the layout
+public class BinaryTileSource implements TileSource {
+
+    private ByteBuffer buffer;
+    private int numRows;
+    private int numCols;
+
+    // per row, every indexStep columns: payload offset of the run covering that column and the run's first column
+    private IntBuffer index;
+    private int indexStep;
+    private int indexCols;
+    private int payload;
+
+    public BinaryTileSource(ByteBuffer buffer) throws IOException {
+
+        this.buffer = buffer;
+
+        if(buffer.remaining() < 20) throw new IOException("Map file is truncated");
+
+        int start = buffer.position();
+        int end = buffer.limit() - 4;
+        CRC32 crc = new CRC32();
+        ByteBuffer body = buffer.duplicate();
+        body.limit(end);
+        crc.update(body);
+        if((int) crc.getValue() != buffer.getInt(end)) throw new IOException("Map checksum mismatch");
+
+        if(buffer.getInt(start) != MapFile.MAGIC) throw new IOException("Not a binary map");
+        int version = buffer.getShort(start + 4);
+        if(version < 1 || version > MapFile.VERSION) throw new IOException("Unsupported map version " + version);
+        indexStep = version >= 2 ? buffer.getShort(start + 6) & 0xFFFF : 0;
+        numCols = buffer.getInt(start + 8);
+        numRows = buffer.getInt(start + 12);
+
+        if(indexStep > 0) {
+            indexCols = (numCols + indexStep - 1) / indexStep;
+            int indexBase = start + 16;
+            payload = indexBase + numRows * indexCols * 8;
+            ByteBuffer b = buffer.duplicate();
+            b.position(indexBase).limit(payload);
+            index = b.slice().asIntBuffer();
+        } else {
+            payload = start + 16;
+            buildIndex(end);
+        }
+    }
+
+    // version 1 files carry no index, so walk the rows once and keep one in memory
+    private void buildIndex(int end) throws IOException {
+
+        indexStep = 16;
+        indexCols = (numCols + indexStep - 1) / indexStep;
+        int[] entries = new int[numRows * indexCols * 2];
+
+        int pos = payload;
+        for(int row = 0; row < numRows; row++) {
+            int runs = buffer.getShort(pos) & 0xFFFF;
+            pos += 2;
+            int col = 0;
+            for(int i = 0; i < runs; i++) {
+                int length = buffer.getShort(pos) & 0xFFFF;
+                if(col + length > numCols) throw new IOException("Row " + row + " overruns the map width");
+                for(int k = (col + indexStep - 1) / indexStep; k * indexStep < col + length; k++) {
+                    int e = (row * indexCols + k) * 2;
+                    entries[e] = pos - payload;
+                    entries[e + 1] = col;
+                }
+                col += length;
+                pos += 4;
+            }
+            if(col != numCols) throw new IOException("Row " + row + " is short");
+        }
+        if(pos != end) throw new IOException("Trailing data in map file");
+
+        index = IntBuffer.wrap(entries);
+    }
+
+    public int getNumRows() { return numRows; }
+    public int getNumCols() { return numCols; }
+
+    public boolean read(int row0, int col0, int rows, int cols, short[] out, int stride) {
+        boolean any = false;
+        int end = col0 + cols;
+        for(int r = 0; r < rows; r++) {
+            int e = ((row0 + r) * indexCols + col0 / indexStep) * 2;
+            int pos = payload + index.get(e);
+            int col = index.get(e + 1);
+            int base = r * stride - col0;
+            while(col < end) {
+                int length = buffer.getShort(pos) & 0xFFFF;
+                int tile = buffer.getShort(pos + 2) & 0xFFFF;
+                pos += 4;
+                if(tile != 0) {
+                    int from = Math.max(col, col0);
+                    int to = Math.min(col + length, end);
+                    for(int c = from; c < to; c++) out[base + c] = (short) tile;
+                    if(from < to) any = true;
+                }
+                col += length;
+            }
+        }
+        return any;
+    }
+
+}
@@ -0,0 +1,37 @@
+package TileMap;
+
+import java.io.*;
+
+// converts text .map files to the binary .bmap format
+// usage: MapConverter <in.map> [out.bmap]
+public class MapConverter {
+
+    public static void main(String[] args) throws IOException {
+
+        if(args.length < 1) {
+            System.err.println("usage: MapConverter <in.map> [out.bmap]");
+            System.exit(1);
+        }
+
+        String in = args[0];
+        String out = args.length > 1 ? args[1] : in.replaceAll("\\.map$", "") + MapFile.BINARY_EXTENSION;
+
+        int[][] map;
+        InputStream input = new FileInputStream(in);
+        try {
+            map = MapFile.readText(input);
+        } finally {
+            input.close();
+        }
+
+        OutputStream output = new BufferedOutputStream(new FileOutputStream(out));
+        try {
+            MapFile.writeBinary(map, output);
+        } finally {
+            output.close();
+        }
+
+        System.out.println(in + " -> " + out + " (" + new File(in).length() + " -> " + new File(out).length() + " bytes)");
+    }
+
+}
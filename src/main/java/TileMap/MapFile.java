@@ -0,0 +1,180 @@
+package TileMap;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// reads and writes maps, either the text .map format or the binary .bmap format
+//
+// binary layout, big-endian:
+//   int    magic "EOAM"
+//   short  version
+//   short  index step in columns (version 2, 0 for no index)
+//   int    columns
+//   int    rows
+//   rows x ceil(columns / step) x { int payload offset, int first column } of the run
+//          covering every step-th column (version 2)
+//   rows x { short runs, runs x { short length, short tile } }
+//   int    CRC32 of everything before it
+public class MapFile {
+
+    public static final int MAGIC = 0x454F414D;
+    public static final int VERSION = 2;
+    public static final int INDEX_STEP = TileStore.CHUNK;
+    public static final String BINARY_EXTENSION = ".bmap";
+
+    private MapFile() {}
+
+    // opens a map resource, picking the format from the extension
+    public static TileSource open(String resource) throws IOException {
+        if(!resource.endsWith(BINARY_EXTENSION)) {
+            InputStream in = MapFile.class.getResourceAsStream(resource);
+            if(in == null) throw new FileNotFoundException(resource);
+            try {
+                return new ArrayTileSource(readText(in));
+            } finally {
+                in.close();
+            }
+        }
+
+        URL url = MapFile.class.getResource(resource);
+        if(url == null) throw new FileNotFoundException(resource);
+        if("file".equals(url.getProtocol())) {
+            try {
+                return open(Paths.get(url.toURI()));
+            } catch(java.net.URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        InputStream in = url.openStream();
+        try {
+            return new BinaryTileSource(ByteBuffer.wrap(in.readAllBytes()));
+        } finally {
+            in.close();
+        }
+    }
+
+    // maps the file into memory instead of copying it through a stream;
+    // the mapping outlives the channel and pages in as chunks are read
+    public static TileSource open(Path path) throws IOException {
+        if(!path.toString().endsWith(BINARY_EXTENSION)) {
+            InputStream in = Files.newInputStream(path);
+            try {
+                return new ArrayTileSource(readText(in));
+            } finally {
+                in.close();
+            }
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new BinaryTileSource(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } finally {
+            channel.close();
+        }
+    }
+
+    public static int[][] readText(InputStream in) throws IOException {
+
+        BufferedReader br = new BufferedReader(new InputStreamReader(in));
+
+        int numCols = Integer.parseInt(br.readLine().trim());
+        int numRows = Integer.parseInt(br.readLine().trim());
+        int[][] map = new int[numRows][numCols];
+
+        String delims = "\\s+";
+        for(int row = 0; row < numRows; row++) {
+            String line = br.readLine();
+            String[] tokens = line.trim().split(delims);
+
+            for(int col = 0; col < numCols; col++) {
+                map[row][col] = Integer.parseInt(tokens[col]);
+            }
+        }
+
+        return map;
+    }
+
+    public static int[][] readBinary(Path path) throws IOException {
+        return toArray(open(path));
+    }
+
+    public static int[][] readBinary(ByteBuffer buffer) throws IOException {
+        return toArray(new BinaryTileSource(buffer));
+    }
+
+    public static int[][] toArray(TileSource source) {
+        int numRows = source.getNumRows();
+        int numCols = source.getNumCols();
+        int[][] map = new int[numRows][numCols];
+        short[] row = new short[numCols];
+        for(int r = 0; r < numRows; r++) {
+            java.util.Arrays.fill(row, (short) 0);
+            source.read(r, 0, 1, numCols, row, numCols);
+            for(int c = 0; c < numCols; c++) map[r][c] = row[c] & 0xFFFF;
+        }
+        return map;
+    }
+
+    public static void writeBinary(int[][] map, OutputStream out) throws IOException {
+
+        int numRows = map.length;
+        int numCols = numRows == 0 ? 0 : map[0].length;
+        int indexCols = (numCols + INDEX_STEP - 1) / INDEX_STEP;
+        int[] index = new int[numRows * indexCols * 2];
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(payload);
+
+        ByteArrayOutputStream rowBytes = new ByteArrayOutputStream();
+        DataOutputStream rowData = new DataOutputStream(rowBytes);
+        for(int row = 0; row < numRows; row++) {
+            rowBytes.reset();
+            int runs = 0;
+            int col = 0;
+            while(col < numCols) {
+                int tile = map[row][col];
+                if(tile < 0 || tile > 0xFFFF) throw new IOException("Tile " + tile + " does not fit the format");
+                int length = 1;
+                while(col + length < numCols && map[row][col + length] == tile && length < 0xFFFF) length++;
+                for(int k = (col + INDEX_STEP - 1) / INDEX_STEP; k * INDEX_STEP < col + length; k++) {
+                    int e = (row * indexCols + k) * 2;
+                    index[e] = payload.size() + 2 + rowBytes.size();
+                    index[e + 1] = col;
+                }
+                rowData.writeShort(length);
+                rowData.writeShort(tile);
+                runs++;
+                col += length;
+            }
+            if(runs > 0xFFFF) throw new IOException("Row " + row + " has too many runs");
+            data.writeShort(runs);
+            rowBytes.writeTo(data);
+        }
+        data.flush();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream file = new DataOutputStream(bytes);
+        file.writeInt(MAGIC);
+        file.writeShort(VERSION);
+        file.writeShort(INDEX_STEP);
+        file.writeInt(numCols);
+        file.writeInt(numRows);
+        for(int i = 0; i < index.length; i++) file.writeInt(index[i]);
+        payload.writeTo(file);
+        file.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        file.writeInt((int) crc.getValue());
+        file.flush();
+
+        bytes.writeTo(out);
+    }
+
+}
@@ -0,0 +1,64 @@
+package TileMap;
+
+import Diagnostics.FrameProfiler;
+import Diagnostics.LatencyHistogram;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+// background layers drawn back to front, each timed into its own histogram
+public class ParallaxBackground {
+
+    private String name;
+    private ArrayList<Background> layers;
+    private ArrayList<LatencyHistogram> costs;
+
+    public ParallaxBackground(String name) {
+        this.name = name;
+        layers = new ArrayList<Background>();
+        costs = new ArrayList<LatencyHistogram>();
+    }
+
+    // layers are drawn in the order they are added
+    public void add(Background layer) {
+        LatencyHistogram cost = new LatencyHistogram();
+        layers.add(layer);
+        costs.add(cost);
+        FrameProfiler.register(name + ".layer" + (layers.size() - 1), cost);
+    }
+
+    public void setPosition(double x, double y) {
+        for(int i = 0; i < layers.size(); i++) {
+            layers.get(i).setPosition(x, y);
+        }
+    }
+
+    public void update() {
+        for(int i = 0; i < layers.size(); i++) {
+            layers.get(i).update();
+        }
+    }
+
+    public void draw(Graphics2D g) {
+        for(int i = 0; i < layers.size(); i++) {
+            long start = System.nanoTime();
+            layers.get(i).draw(g);
+            costs.get(i).record(System.nanoTime() - start);
+        }
+    }
+
+    public int getLayerCount() { return layers.size(); }
+    public Background getLayer(int i) { return layers.get(i); }
+    public LatencyHistogram getCost(int i) { return costs.get(i); }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder(name);
+        for(int i = 0; i < layers.size(); i++) {
+            LatencyHistogram h = costs.get(i);
+            sb.append(String.format("%n  layer %d%s: mean %.1f us, p99 %.1f us over %d frames",
+                    i, layers.get(i).isOpaque() ? " (opaque)" : "", h.getMean() / 1e3, h.percentile(0.99) / 1e3, h.getCount()));
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,134 @@
+package TileMap;
+
+import Assets.ImageConverter;
+import Main.GamePanel;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// bakes the static tile layer into chunk images, built when first seen and evicted least recently used first
+public class TileChunkCache {
+
+    public static final int CHUNK_TILES = 8;
+
+    private TileMap tileMap;
+    private int tileSize;
+    private int chunkSize;
+    private int numChunkRows;
+    private int numChunkCols;
+
+    // chunks by index, null when not built
+    private BufferedImage[] chunks;
+    private boolean[] built;
+    private long[] lastUsed;
+    private int[] resident;
+    private int numResident;
+    private int maxResident;
+    private long frame;
+
+    // stats
+    private long builds;
+    private long buildNanos;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public TileChunkCache(TileMap tm, int maxResident) {
+        tileMap = tm;
+        tileSize = tm.getTileSize();
+        chunkSize = CHUNK_TILES * tileSize;
+        numChunkRows = (tm.getNumRows() + CHUNK_TILES - 1) / CHUNK_TILES;
+        numChunkCols = (tm.getNumCols() + CHUNK_TILES - 1) / CHUNK_TILES;
+
+        int n = numChunkRows * numChunkCols;
+        chunks = new BufferedImage[n];
+        built = new boolean[n];
+        lastUsed = new long[n];
+        this.maxResident = Math.max(maxResident, 1);
+        resident = new int[this.maxResident];
+    }
+
+    public void draw(Graphics2D g, int x, int y) {
+
+        frame++;
+
+        int firstCol = Math.max(Math.floorDiv(-x, chunkSize), 0);
+        int lastCol = Math.min(Math.floorDiv(-x + GamePanel.WIDTH - 1, chunkSize), numChunkCols - 1);
+        int firstRow = Math.max(Math.floorDiv(-y, chunkSize), 0);
+        int lastRow = Math.min(Math.floorDiv(-y + GamePanel.HEIGHT - 1, chunkSize), numChunkRows - 1);
+
+        for(int row = firstRow; row <= lastRow; row++) {
+            for(int col = firstCol; col <= lastCol; col++) {
+                int i = row * numChunkCols + col;
+                if(built[i]) {
+                    hits++;
+                } else {
+                    misses++;
+                    build(i, row, col);
+                }
+                lastUsed[i] = frame;
+                if(chunks[i] != null) {
+                    g.drawImage(chunks[i], x + col * chunkSize, y + row * chunkSize, null);
+                }
+            }
+        }
+    }
+
+    private void build(int i, int chunkRow, int chunkCol) {
+
+        long start = System.nanoTime();
+
+        if(numResident == maxResident) evict();
+
+        BufferedImage image = null;
+        Graphics2D g = null;
+
+        int row0 = chunkRow * CHUNK_TILES;
+        int col0 = chunkCol * CHUNK_TILES;
+        int rows = Math.min(CHUNK_TILES, tileMap.getNumRows() - row0);
+        int cols = Math.min(CHUNK_TILES, tileMap.getNumCols() - col0);
+
+        for(int row = 0; row < rows; row++) {
+            for(int col = 0; col < cols; col++) {
+                BufferedImage tile = tileMap.getTileImage(row0 + row, col0 + col);
+                if(tile == null) continue;
+                if(image == null) {
+                    image = ImageConverter.createCompatible(chunkSize, chunkSize, Transparency.BITMASK);
+                    g = image.createGraphics();
+                }
+                g.drawImage(tile, col * tileSize, row * tileSize, null);
+            }
+        }
+        if(g != null) g.dispose();
+
+        // empty chunks stay resident too, they just have no image
+        chunks[i] = image;
+        built[i] = true;
+        resident[numResident++] = i;
+
+        builds++;
+        buildNanos += System.nanoTime() - start;
+    }
+
+    private void evict() {
+        int oldest = 0;
+        for(int j = 1; j < numResident; j++) {
+            if(lastUsed[resident[j]] < lastUsed[resident[oldest]]) oldest = j;
+        }
+        int i = resident[oldest];
+        if(chunks[i] != null) chunks[i].flush();
+        chunks[i] = null;
+        built[i] = false;
+        resident[oldest] = resident[--numResident];
+        evictions++;
+    }
+
+    public int getResident() { return numResident; }
+    public long getBuilds() { return builds; }
+    public long getBuildNanos() { return buildNanos; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public double getHitRate() { return hits + misses == 0 ? 0 : (double) hits / (hits + misses); }
+
+}
@@ -1,13 +1,14 @@
 package TileMap;
 
+import Assets.AssetCache;
+import Diagnostics.AssetLoadEvent;
 import Main.GamePanel;
+import Render.SoftwareRenderer;
+import Render.Sprite;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.file.Path;
 
 public class TileMap {
 
@@ -15,6 +16,11 @@ public class TileMap {
     private double x;
     private double y;
 
+    // interpolation
+    private double xprev;
+    private double yprev;
+    private double interpolation;
+
     // bounds
     private int xmin;
     private int ymin;
@@ -24,7 +30,7 @@ public class TileMap {
     private double tween;
 
     // map
-    private int[][] map;
+    private TileStore map;
     private int tileSize;
     private int numRows;
     private int numCols;
@@ -35,96 +41,129 @@ public class TileMap {
     private BufferedImage tileset;
     private int numTilesAcross;
     private Tile[][] tiles;
+    private Sprite[][] sprites;
 
     // drawing
     private int rowOffset;
     private int colOffset;
     private int numRowsToDraw;
     private int numColsToDraw;
+    private boolean useChunks;
+    private TileChunkCache chunkCache;
 
     public TileMap(int tileSize) {
         this.tileSize = tileSize;
         numRowsToDraw = GamePanel.HEIGHT / tileSize + 2;
         numColsToDraw = GamePanel.WIDTH / tileSize + 2;
         tween = 0.07;
+        interpolation = 1;
+        useChunks = !"false".equals(System.getProperty("game.tilechunks"));
     }
 
     public void loadTiles(String s) {
 
+        chunkCache = null;
+        tileset = AssetCache.getImage(s);
+        numTilesAcross = tileset.getWidth() / tileSize;
+        tiles = new Tile[2][numTilesAcross];
+        sprites = null;
+
+        BufferedImage[] normal = AssetCache.getFrames(s, 0, 0, tileSize, tileSize, numTilesAcross);
+        BufferedImage[] blocked = AssetCache.getFrames(s, 0, tileSize, tileSize, tileSize, numTilesAcross);
+        for(int col = 0; col < numTilesAcross; col++) {
+            tiles[0][col] = new Tile(normal[col], Tile.NORMAL);
+            tiles[1][col] = new Tile(blocked[col], Tile.BLOCKED);
+        }
+    }
+    public void loadMap(String s) {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
         try {
-
-            tileset = ImageIO.read(getClass().getResourceAsStream(s));
-            numTilesAcross = tileset.getWidth() / tileSize;
-            tiles = new Tile[2][numTilesAcross];
-
-            BufferedImage subimage;
-            for(int col = 0; col < numTilesAcross; col++) {
-                subimage = tileset.getSubimage(col * tileSize, 0, tileSize, tileSize);
-                tiles[0][col] = new Tile(subimage, Tile.NORMAL);
-                subimage = tileset.getSubimage(col * tileSize, tileSize, tileSize, tileSize);
-                tiles[1][col] = new Tile(subimage, Tile.BLOCKED);
-            }
-
-        } catch(Exception e) {
+            setMap(MapFile.open(s));
+        } catch (Exception e) {
             e.printStackTrace();
         }
+        commitMapLoad(event, s);
     }
-    public void loadMap(String s) {
 
+    public void loadMap(Path p) {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
         try {
+            setMap(MapFile.open(p));
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        commitMapLoad(event, p.toString());
+    }
 
-            InputStream in = getClass().getResourceAsStream(s);
-            BufferedReader br = new BufferedReader(new InputStreamReader(in));
-
-            numCols = Integer.parseInt((br.readLine()));
-            numRows = Integer.parseInt(br.readLine());
-            map = new int[numRows][numCols];
-            width = numCols * tileSize;
-            height = numRows * tileSize;
-
-            xmin = GamePanel.WIDTH - width;
-            xmax = 0;
-            ymin = GamePanel.HEIGHT - height;
-            ymax = 0;
-
-            String delims = "\\s+";
-            for(int row = 0; row < numRows; row++) {
-                String line = br.readLine();
-                String[] tokens = line.split(delims);
+    // the size is what the map would take fully paged in
+    private void commitMapLoad(AssetLoadEvent event, String path) {
+        event.path = path;
+        event.kind = "map";
+        if(map != null) event.bytes = (long) numRows * numCols * 2;
+        event.commit();
+    }
 
-                for(int col = 0; col < numCols; col++) {
-                    map[row][col] = Integer.parseInt(tokens[col]);
-                }
+    private void setMap(TileSource source) {
+        chunkCache = null;
+        map = new TileStore(source, 512);
 
-            }
+        numRows = map.getNumRows();
+        numCols = map.getNumCols();
+        width = numCols * tileSize;
+        height = numRows * tileSize;
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        xmin = GamePanel.WIDTH - width;
+        xmax = 0;
+        ymin = GamePanel.HEIGHT - height;
+        ymax = 0;
     }
 
     public int getTileSize() { return tileSize;}
     public double getx() { return x; }
     public double gety() {return y; }
+    public double getRenderX() { return xprev + (x - xprev) * interpolation; }
+    public double getRenderY() { return yprev + (y - yprev) * interpolation; }
+    public double getInterpolation() { return interpolation; }
     public int getWidth() {return width; }
     public int getHeight() {return height; }
+    public int getNumRows() { return numRows; }
+    public int getNumCols() { return numCols; }
+    public TileChunkCache getChunkCache() { return chunkCache; }
+    public TileStore getStore() { return map; }
 
     public int getType(int row, int col) {
-        int rc = map[row][col];
+        int rc = map.getTile(row, col);
         int r = rc / numTilesAcross;
         int c = rc % numTilesAcross;
         return tiles[r][c].getType();
     }
 
+    // image for the tile at row, col, or null where the map is empty
+    BufferedImage getTileImage(int row, int col) {
+        int rc = map.getTile(row, col);
+        if(rc == 0) return null;
+        int r = rc / numTilesAcross;
+        int c = rc % numTilesAcross;
+        return tiles[r][c].getImage();
+    }
+
     public void setPosition(double x, double y) {
+        xprev = this.x;
+        yprev = this.y;
+
         this.x += (x - this.x) * tween;
         this.y += (y - this.x) * tween;
 
         fixBounds();
 
-        colOffset = (int) -this.x / tileSize;
-        rowOffset = (int) -this.y / tileSize;
+        if(map != null) map.setFocus((int) -this.y / tileSize, (int) -this.x / tileSize, numRowsToDraw, numColsToDraw);
+
+    }
 
+    public void setInterpolation(double alpha) {
+        interpolation = alpha;
     }
 
     private void fixBounds() {
@@ -135,6 +174,19 @@ public class TileMap {
     }
 
     public void draw(Graphics2D g) {
+
+        double x = getRenderX();
+        double y = getRenderY();
+
+        if(useChunks) {
+            if(chunkCache == null) chunkCache = new TileChunkCache(this, 32);
+            chunkCache.draw(g, (int) x, (int) y);
+            return;
+        }
+
+        colOffset = (int) -x / tileSize;
+        rowOffset = (int) -y / tileSize;
+
         for(int row = rowOffset; row < rowOffset + numRowsToDraw; row++) {
 
             if(row >= numRows) break;
@@ -143,9 +195,9 @@ public class TileMap {
 
                 if(col >= numCols) break;
 
-                if(map[row][col] == 0) continue;
+                int rc = map.getTile(row, col);
+                if(rc == 0) continue;
 
-                int rc = map[row][col];
                 int r = rc / numTilesAcross;
                 int c = rc % numTilesAcross;
 
@@ -155,6 +207,43 @@ public class TileMap {
         }
     }
 
+    // per tile blits are cheap enough here that the chunk cache is not used
+    public void draw(SoftwareRenderer renderer) {
+
+        if(sprites == null) {
+            sprites = new Sprite[2][numTilesAcross];
+            for(int col = 0; col < numTilesAcross; col++) {
+                sprites[0][col] = AssetCache.getSprite(tiles[0][col].getImage());
+                sprites[1][col] = AssetCache.getSprite(tiles[1][col].getImage());
+            }
+        }
+
+        double x = getRenderX();
+        double y = getRenderY();
+
+        colOffset = (int) -x / tileSize;
+        rowOffset = (int) -y / tileSize;
+
+        for(int row = rowOffset; row < rowOffset + numRowsToDraw; row++) {
+
+            if(row >= numRows) break;
+
+            for(int col = colOffset; col < colOffset + numColsToDraw; col++) {
+
+                if(col >= numCols) break;
+
+                int rc = map.getTile(row, col);
+                if(rc == 0) continue;
+
+                int r = rc / numTilesAcross;
+                int c = rc % numTilesAcross;
+
+                renderer.draw(sprites[r][c], (int) x + col * tileSize, (int) y + row * tileSize);
+
+            }
+        }
+    }
+
     public void setTween(double i) {
         tween = i;
     }
@@ -0,0 +1,13 @@
+package TileMap;
+
+// where a TileStore pages its chunks in from
+public interface TileSource {
+
+    int getNumRows();
+    int getNumCols();
+
+    // writes the tiles of the region into out, row by row with the given stride,
+    // leaving empty cells untouched; returns false if the region has no tiles at all
+    boolean read(int row0, int col0, int rows, int cols, short[] out, int stride);
+
+}
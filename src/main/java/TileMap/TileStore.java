@@ -0,0 +1,157 @@
+package TileMap;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+// tile indices in 16x16 chunks of shorts, paged in from a TileSource as they are touched
+// and paged out furthest from the camera first once the resident budget is used up;
+// reads are safe from several threads while page-outs are held
+public class TileStore {
+
+    private static final VarHandle CHUNKS = MethodHandles.arrayElementVarHandle(short[][].class);
+
+    public static final int CHUNK_SHIFT = 4;
+    public static final int CHUNK = 1 << CHUNK_SHIFT;
+    private static final int MASK = CHUNK - 1;
+
+    // shared by every chunk without tiles, so sparse chunks cost nothing
+    private static final short[] EMPTY = new short[CHUNK * CHUNK];
+
+    private TileSource source;
+    private int numRows;
+    private int numCols;
+    private int chunkRows;
+    private int chunkCols;
+
+    // chunk directory, null until paged in
+    private short[][] chunks;
+
+    // resident non-empty chunks and arrays freed by page-outs
+    private int[] resident;
+    private int numResident;
+    private int maxResident;
+    private boolean holdPageOuts;
+    private short[][] spare;
+    private int numSpare;
+
+    // camera, in chunks
+    private int focusRow;
+    private int focusCol;
+
+    // stats
+    private long pageIns;
+    private long pageOuts;
+
+    public TileStore(TileSource source, int maxResident) {
+        this.source = source;
+        numRows = source.getNumRows();
+        numCols = source.getNumCols();
+        chunkRows = (numRows + MASK) >> CHUNK_SHIFT;
+        chunkCols = (numCols + MASK) >> CHUNK_SHIFT;
+        chunks = new short[chunkRows * chunkCols][];
+        this.maxResident = Math.max(maxResident, 1);
+        resident = new int[this.maxResident];
+        spare = new short[4][];
+        focusRow = focusCol = -1;
+    }
+
+    public int getNumRows() { return numRows; }
+    public int getNumCols() { return numCols; }
+
+    public int getTile(int row, int col) {
+        if(row < 0 || row >= numRows || col < 0 || col >= numCols) {
+            throw new ArrayIndexOutOfBoundsException("Tile " + row + ", " + col + " is outside the map");
+        }
+        int i = (row >> CHUNK_SHIFT) * chunkCols + (col >> CHUNK_SHIFT);
+        short[] chunk = (short[]) CHUNKS.getAcquire(chunks, i);
+        if(chunk == null) chunk = pageIn(i);
+        return chunk[((row & MASK) << CHUNK_SHIFT) | (col & MASK)] & 0xFFFF;
+    }
+
+    // pages in the chunks the camera is about to show
+    public void setFocus(int row, int col, int rows, int cols) {
+        int r0 = Math.max((row >> CHUNK_SHIFT) - 1, 0);
+        int c0 = Math.max((col >> CHUNK_SHIFT) - 1, 0);
+        if(r0 == focusRow && c0 == focusCol) return;
+        focusRow = r0;
+        focusCol = c0;
+        int r1 = Math.min(((row + rows) >> CHUNK_SHIFT) + 1, chunkRows - 1);
+        int c1 = Math.min(((col + cols) >> CHUNK_SHIFT) + 1, chunkCols - 1);
+        for(int r = r0; r <= r1; r++) {
+            for(int c = c0; c <= c1; c++) {
+                int i = r * chunkCols + c;
+                if(chunks[i] == null) pageIn(i);
+            }
+        }
+    }
+
+    // while held, chunks are only paged in, so arrays other threads are reading never get recycled;
+    // releasing trims back to the budget
+    public synchronized void setHoldPageOuts(boolean b) {
+        holdPageOuts = b;
+        if(!b) {
+            while(numResident > maxResident) pageOut();
+        }
+    }
+
+    private synchronized short[] pageIn(int i) {
+
+        if(chunks[i] != null) return chunks[i];
+
+        short[] chunk = numSpare > 0 ? spare[--numSpare] : new short[CHUNK * CHUNK];
+
+        int row0 = (i / chunkCols) << CHUNK_SHIFT;
+        int col0 = (i % chunkCols) << CHUNK_SHIFT;
+        int rows = Math.min(CHUNK, numRows - row0);
+        int cols = Math.min(CHUNK, numCols - col0);
+        pageIns++;
+
+        if(!source.read(row0, col0, rows, cols, chunk, CHUNK)) {
+            recycle(chunk);
+            CHUNKS.setRelease(chunks, i, EMPTY);
+            return EMPTY;
+        }
+
+        if(numResident >= maxResident && !holdPageOuts) pageOut();
+        if(numResident == resident.length) resident = Arrays.copyOf(resident, numResident * 2);
+        resident[numResident++] = i;
+        CHUNKS.setRelease(chunks, i, chunk);
+        return chunk;
+    }
+
+    // drops the resident chunk furthest from the camera
+    private void pageOut() {
+        int furthest = 0;
+        int furthestDistance = -1;
+        for(int j = 0; j < numResident; j++) {
+            int i = resident[j];
+            int d = Math.abs(i / chunkCols - focusRow) + Math.abs(i % chunkCols - focusCol);
+            if(d > furthestDistance) {
+                furthest = j;
+                furthestDistance = d;
+            }
+        }
+        int i = resident[furthest];
+        recycle(chunks[i]);
+        chunks[i] = null;
+        resident[furthest] = resident[--numResident];
+        pageOuts++;
+    }
+
+    private void recycle(short[] chunk) {
+        Arrays.fill(chunk, (short) 0);
+        if(numSpare == spare.length) spare = Arrays.copyOf(spare, numSpare * 2);
+        spare[numSpare++] = chunk;
+    }
+
+    public int getResident() { return numResident; }
+    public long getPageIns() { return pageIns; }
+    public long getPageOuts() { return pageOuts; }
+
+    // bytes held by resident chunk arrays and the directory
+    public long getResidentBytes() {
+        return (long) (numResident + numSpare) * CHUNK * CHUNK * 2 + (long) chunks.length * 4;
+    }
+
+}